@@ -2,6 +2,7 @@ package sort;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Comparator;
 import java.util.Random;
 
 /**
@@ -34,14 +35,26 @@ public class BubbleSort {
      *
      * @param a 需要排序的数组
      */
-    private static void bubbleSort(Comparable[] a) {
-        int length = a.length;
+    public static void bubbleSort(Comparable[] a) {
+        bubbleSort(a, 0, a.length, SortUtil.naturalOrder());
+    }
+
+    /**
+     * 对 [from, to) 区间冒泡排序
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void bubbleSort(T[] a, int from, int to, Comparator<? super T> c) {
+        SortUtil.rangeCheck(a.length, from, to);
         boolean flag; // 标记是否发生过交换
 
-        for (int i = length - 1; i > 0; i--) {
+        for (int i = to - 1; i > from; i--) {
             flag = false; // 重制标志位
-            for (int j = 0; j < i; j++) {
-                if (a[j].compareTo(a[j + 1]) > 0) {
+            for (int j = from; j < i; j++) {
+                if (c.compare(a[j], a[j + 1]) > 0) {
                     SortUtil.swap(a, j, j + 1);
                     flag = true;  // 设置标志位
                 }
@@ -53,6 +66,69 @@ public class BubbleSort {
         }
     }
 
+    /**
+     * 冒泡排序（int[] 版本，不装箱）
+     *
+     * @param a 需要排序的数组
+     */
+    public static void bubbleSort(int[] a) {
+        for (int i = a.length - 1; i > 0; i--) {
+            boolean flag = false; // 标记是否发生过交换
+            for (int j = 0; j < i; j++) {
+                if (a[j] > a[j + 1]) {
+                    SortUtil.swap(a, j, j + 1);
+                    flag = true;
+                }
+            }
+            if (!flag) {  // 本轮没发生过交换 即都是有序的
+                break;
+            }
+        }
+    }
+
+    /**
+     * 冒泡排序（long[] 版本，不装箱）
+     *
+     * @param a 需要排序的数组
+     */
+    public static void bubbleSort(long[] a) {
+        for (int i = a.length - 1; i > 0; i--) {
+            boolean flag = false; // 标记是否发生过交换
+            for (int j = 0; j < i; j++) {
+                if (a[j] > a[j + 1]) {
+                    SortUtil.swap(a, j, j + 1);
+                    flag = true;
+                }
+            }
+            if (!flag) {  // 本轮没发生过交换 即都是有序的
+                break;
+            }
+        }
+    }
+
+    /**
+     * 冒泡排序（double[] 版本，不装箱）
+     * 顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a 需要排序的数组
+     */
+    public static void bubbleSort(double[] a) {
+        int n = SortUtil.moveNaNsToEnd(a, 0, a.length);
+        for (int i = n - 1; i > 0; i--) {
+            boolean flag = false; // 标记是否发生过交换
+            for (int j = 0; j < i; j++) {
+                if (a[j] > a[j + 1]) {
+                    SortUtil.swap(a, j, j + 1);
+                    flag = true;
+                }
+            }
+            if (!flag) {  // 本轮没发生过交换 即都是有序的
+                break;
+            }
+        }
+        SortUtil.sortZeros(a, 0, n);
+    }
+
     public static void main(String[] args) {
         int length = 1000;
         Integer[] a = new Integer[length];
@@ -1,5 +1,12 @@
 package sort;
 
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * 桶排序 (Bucket sort)或所谓的箱排序，是一个排序算法，
  * 工作的原理是将数组分到有限数量的桶子里。
@@ -9,6 +16,437 @@ package sort;
  * 但桶排序并不是 比较排序，他不受到 O(n log n) 下限的影响。
  *
  * 桶排序基本上是牺牲空间换时间的算法
+ * <p>
+ * 这里按数值区间等分桶，桶数随数组长度自适应（平均每桶 {@value #BUCKET_SIZE} 个元素），
+ * 桶内用 {@link QuickSort#introSort} 排序，数据分布不均匀时最坏也是O(N*logN)。
+ * 整数键还可以使用 radixSort（LSD基数排序）。
+ * double 版本的顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面。
+ * <p>
+ * 桶排序是不稳定的算法（桶内使用快速排序）；基数排序是稳定的算法
+ * 桶排序的平均时间复杂度是O(N)
+ * 桶排序的空间复杂度是O(N)
  */
 public class BucketSort {
+
+    /**
+     * 平均每个桶的元素个数
+     */
+    private static final int BUCKET_SIZE = 8;
+
+    /**
+     * 桶数上限，限制计数数组的大小
+     */
+    private static final int MAX_BUCKETS = 1 << 20;
+
+    /**
+     * 并行排序时，一个任务至少负责的元素个数
+     */
+    private static final int PARALLEL_GRANULARITY = 1 << 13;
+
+    private static final int RADIX = 256;
+
+    /**
+     * 桶排序（int[] 版本）
+     *
+     * @param a 需要排序的数组
+     */
+    public static void bucketSort(int[] a) {
+        bucketSort(a, false);
+    }
+
+    /**
+     * 桶排序（int[] 版本）
+     * (1) 一趟求出最小、最大值，按数组长度确定桶数；
+     * (2) 一趟统计每个桶的元素个数，求前缀和得到每个桶的起始位置；
+     * (3) 一趟把元素分配到临时数组中各自的桶里，再拷贝回原数组；
+     * (4) 对每个桶内部排序，parallel 为 true 时各个桶在 ForkJoinPool 中并行排序。
+     *
+     * @param a        需要排序的数组
+     * @param parallel 是否并行排序各个桶
+     */
+    public static void bucketSort(int[] a, boolean parallel) {
+        int n = a.length;
+        if (n <= 1) {
+            return;
+        }
+        int min = a[0], max = a[0];
+        for (int v : a) {
+            if (v < min) {
+                min = v;
+            } else if (v > max) {
+                max = v;
+            }
+        }
+        if (min == max) {  // 所有元素相等
+            return;
+        }
+        int bucketCount = bucketCount(n, (double) max - (double) min);
+        double scale = bucketCount / ((double) max - (double) min);
+
+        int[] starts = new int[bucketCount + 1];
+        for (int v : a) {
+            starts[bucketIndex(v, min, scale, bucketCount) + 1]++;
+        }
+        for (int i = 1; i <= bucketCount; i++) {
+            starts[i] += starts[i - 1];
+        }
+        int[] next = Arrays.copyOf(starts, bucketCount);
+        int[] tmp = new int[n];
+        for (int v : a) {
+            tmp[next[bucketIndex(v, min, scale, bucketCount)]++] = v;
+        }
+        System.arraycopy(tmp, 0, a, 0, n);
+
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(new BucketTask(a, starts, 0, bucketCount));
+        } else {
+            sortBuckets(a, starts, 0, bucketCount);
+        }
+    }
+
+    private static int bucketIndex(int v, int min, double scale, int bucketCount) {
+        int index = (int) (((double) v - (double) min) * scale);
+        return index < bucketCount ? index : bucketCount - 1;
+    }
+
+    private static void sortBuckets(int[] a, int[] starts, int from, int to) {
+        for (int b = from; b < to; b++) {
+            if (starts[b + 1] - starts[b] > 1) {
+                QuickSort.introSort(a, starts[b], starts[b + 1] - 1);
+            }
+        }
+    }
+
+    /**
+     * 桶排序（long[] 版本）
+     *
+     * @param a 需要排序的数组
+     */
+    public static void bucketSort(long[] a) {
+        bucketSort(a, false);
+    }
+
+    /**
+     * 桶排序（long[] 版本）
+     * (1) 一趟求出最小、最大值，按数组长度确定桶数；
+     * (2) 一趟统计每个桶的元素个数，求前缀和得到每个桶的起始位置；
+     * (3) 一趟把元素分配到临时数组中各自的桶里，再拷贝回原数组；
+     * (4) 对每个桶内部排序，parallel 为 true 时各个桶在 ForkJoinPool 中并行排序。
+     *
+     * @param a        需要排序的数组
+     * @param parallel 是否并行排序各个桶
+     */
+    public static void bucketSort(long[] a, boolean parallel) {
+        int n = a.length;
+        if (n <= 1) {
+            return;
+        }
+        long min = a[0], max = a[0];
+        for (long v : a) {
+            if (v < min) {
+                min = v;
+            } else if (v > max) {
+                max = v;
+            }
+        }
+        if (min == max) {  // 所有元素相等
+            return;
+        }
+        int bucketCount = bucketCount(n, (double) max - (double) min);
+        double scale = bucketCount / ((double) max - (double) min);
+
+        int[] starts = new int[bucketCount + 1];
+        for (long v : a) {
+            starts[bucketIndex(v, min, scale, bucketCount) + 1]++;
+        }
+        for (int i = 1; i <= bucketCount; i++) {
+            starts[i] += starts[i - 1];
+        }
+        int[] next = Arrays.copyOf(starts, bucketCount);
+        long[] tmp = new long[n];
+        for (long v : a) {
+            tmp[next[bucketIndex(v, min, scale, bucketCount)]++] = v;
+        }
+        System.arraycopy(tmp, 0, a, 0, n);
+
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(new BucketTask(a, starts, 0, bucketCount));
+        } else {
+            sortBuckets(a, starts, 0, bucketCount);
+        }
+    }
+
+    private static int bucketIndex(long v, long min, double scale, int bucketCount) {
+        int index = (int) (((double) v - (double) min) * scale);
+        return index < bucketCount ? index : bucketCount - 1;
+    }
+
+    private static void sortBuckets(long[] a, int[] starts, int from, int to) {
+        for (int b = from; b < to; b++) {
+            if (starts[b + 1] - starts[b] > 1) {
+                QuickSort.introSort(a, starts[b], starts[b + 1] - 1);
+            }
+        }
+    }
+
+    /**
+     * 桶排序（double[] 版本）
+     *
+     * @param a 需要排序的数组
+     */
+    public static void bucketSort(double[] a) {
+        bucketSort(a, false);
+    }
+
+    /**
+     * 桶排序（double[] 版本）
+     * (1) 一趟求出最小、最大值，按数组长度确定桶数；
+     * (2) 一趟统计每个桶的元素个数，求前缀和得到每个桶的起始位置；
+     * (3) 一趟把元素分配到临时数组中各自的桶里，再拷贝回原数组；
+     * (4) 对每个桶内部排序，parallel 为 true 时各个桶在 ForkJoinPool 中并行排序。
+     *
+     * @param a        需要排序的数组
+     * @param parallel 是否并行排序各个桶
+     */
+    public static void bucketSort(double[] a, boolean parallel) {
+        int n = SortUtil.moveNaNsToEnd(a, 0, a.length);  // NaN 不参与分桶，留在末尾
+        if (n <= 1) {
+            return;
+        }
+        double min = a[0], max = a[0];
+        for (int i = 1; i < n; i++) {
+            if (a[i] < min) {
+                min = a[i];
+            } else if (a[i] > max) {
+                max = a[i];
+            }
+        }
+        if (min == max) {  // 所有元素相等，可能同时有 -0.0 和 0.0
+            SortUtil.sortZeros(a, 0, n);
+            return;
+        }
+        int bucketCount = bucketCount(n, Double.POSITIVE_INFINITY);  // 浮点数不按值域限制桶数
+        double scale = bucketCount / (max - min);
+
+        int[] starts = new int[bucketCount + 1];
+        for (int i = 0; i < n; i++) {
+            starts[bucketIndex(a[i], min, scale, bucketCount) + 1]++;
+        }
+        for (int i = 1; i <= bucketCount; i++) {
+            starts[i] += starts[i - 1];
+        }
+        int[] next = Arrays.copyOf(starts, bucketCount);
+        double[] tmp = new double[n];
+        for (int i = 0; i < n; i++) {
+            tmp[next[bucketIndex(a[i], min, scale, bucketCount)]++] = a[i];
+        }
+        System.arraycopy(tmp, 0, a, 0, n);
+
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(new BucketTask(a, starts, 0, bucketCount));
+        } else {
+            sortBuckets(a, starts, 0, bucketCount);
+        }
+    }
+
+    private static int bucketIndex(double v, double min, double scale, int bucketCount) {
+        int index = (int) ((v - min) * scale);
+        return index < bucketCount ? index : bucketCount - 1;
+    }
+
+    private static void sortBuckets(double[] a, int[] starts, int from, int to) {
+        for (int b = from; b < to; b++) {
+            if (starts[b + 1] - starts[b] > 1) {
+                QuickSort.introSort(a, starts[b], starts[b + 1] - 1);
+            }
+        }
+    }
+
+    /**
+     * 桶数：平均每桶 BUCKET_SIZE 个元素，且不超过值域大小与 MAX_BUCKETS
+     *
+     * @param n     元素个数
+     * @param range 整数的 max - min；浮点数传入正无穷
+     */
+    private static int bucketCount(int n, double range) {
+        int count = Math.max(1, n / BUCKET_SIZE);
+        if (count > MAX_BUCKETS) {
+            count = MAX_BUCKETS;
+        }
+        if (range + 1 < count) {  // 整数值域比桶数小时，多出来的桶必定为空
+            count = (int) range + 1;
+        }
+        return count;
+    }
+
+    /**
+     * 并行排序 [from, to) 号桶，元素较多时按桶号二分拆成子任务
+     */
+    private static class BucketTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object a;
+        private final int[] starts;
+        private final int from;
+        private final int to;
+
+        BucketTask(Object a, int[] starts, int from, int to) {
+            this.a = a;
+            this.starts = starts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1 && starts[to] - starts[from] > PARALLEL_GRANULARITY) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new BucketTask(a, starts, from, mid), new BucketTask(a, starts, mid, to));
+                return;
+            }
+            if (a instanceof int[]) {
+                sortBuckets((int[]) a, starts, from, to);
+            } else if (a instanceof long[]) {
+                sortBuckets((long[]) a, starts, from, to);
+            } else {
+                sortBuckets((double[]) a, starts, from, to);
+            }
+        }
+    }
+
+    /**
+     * LSD 基数排序（int[] 版本），每趟按8位分配
+     * 一趟统计出所有位上的计数，某一位上所有元素都相同时跳过该趟；
+     * 最高位与符号位异或，使负数排在正数前面。
+     * 时间复杂度O(4N)，空间复杂度O(N)，是稳定的算法
+     *
+     * @param a 需要排序的数组
+     */
+    public static void radixSort(int[] a) {
+        int n = a.length;
+        if (n <= 1) {
+            return;
+        }
+        int[][] counts = new int[Integer.BYTES][RADIX];
+        for (int v : a) {
+            for (int d = 0; d < Integer.BYTES; d++) {
+                counts[d][digit(v, d)]++;
+            }
+        }
+        int[] src = a;
+        int[] dst = new int[n];
+        for (int d = 0; d < Integer.BYTES; d++) {
+            int[] count = counts[d];
+            if (count[digit(src[0], d)] == n) {  // 这一位全部相同，无需分配
+                continue;
+            }
+            int sum = 0;
+            for (int i = 0; i < RADIX; i++) {  // 计数转为每个桶的起始位置
+                int c = count[i];
+                count[i] = sum;
+                sum += c;
+            }
+            for (int v : src) {
+                dst[count[digit(v, d)]++] = v;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+    }
+
+    /**
+     * 取第 d 个字节（从低位开始），最高字节翻转符号位
+     */
+    private static int digit(int v, int d) {
+        int b = (v >>> (d << 3)) & (RADIX - 1);
+        return d == Integer.BYTES - 1 ? b ^ 0x80 : b;
+    }
+
+    /**
+     * LSD 基数排序（long[] 版本），每趟按8位分配
+     * 一趟统计出所有位上的计数，某一位上所有元素都相同时跳过该趟；
+     * 最高位与符号位异或，使负数排在正数前面。
+     * 时间复杂度O(8N)，空间复杂度O(N)，是稳定的算法
+     *
+     * @param a 需要排序的数组
+     */
+    public static void radixSort(long[] a) {
+        int n = a.length;
+        if (n <= 1) {
+            return;
+        }
+        int[][] counts = new int[Long.BYTES][RADIX];
+        for (long v : a) {
+            for (int d = 0; d < Long.BYTES; d++) {
+                counts[d][digit(v, d)]++;
+            }
+        }
+        long[] src = a;
+        long[] dst = new long[n];
+        for (int d = 0; d < Long.BYTES; d++) {
+            int[] count = counts[d];
+            if (count[digit(src[0], d)] == n) {  // 这一位全部相同，无需分配
+                continue;
+            }
+            int sum = 0;
+            for (int i = 0; i < RADIX; i++) {  // 计数转为每个桶的起始位置
+                int c = count[i];
+                count[i] = sum;
+                sum += c;
+            }
+            for (long v : src) {
+                dst[count[digit(v, d)]++] = v;
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+        }
+    }
+
+    /**
+     * 取第 d 个字节（从低位开始），最高字节翻转符号位
+     */
+    private static int digit(long v, int d) {
+        int b = (int) (v >>> (d << 3)) & (RADIX - 1);
+        return d == Long.BYTES - 1 ? b ^ 0x80 : b;
+    }
+
+    public static void main(String[] args) {
+        int length = 1000;
+        int[] a = new int[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = new Random().nextInt(10000);
+        }
+        System.out.println(StringUtils.join(a, ','));
+        long start = System.currentTimeMillis();
+        System.out.println("开始时间：" + start + "毫秒");
+        bucketSort(a);
+        long end = System.currentTimeMillis();
+        System.out.println("结束时间：" + end + "毫秒");
+        System.out.println("耗时：" + (end - start) + "毫秒");
+        System.out.println(StringUtils.join(a, ','));
+
+        long[] timestamps = new long[length * 10000];
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = now + new Random().nextInt(86400000);
+        }
+        long[] copy = timestamps.clone();
+        start = System.currentTimeMillis();
+        bucketSort(timestamps, true);
+        end = System.currentTimeMillis();
+        System.out.println("并行桶排序 " + timestamps.length + " 个时间戳耗时：" + (end - start) + "毫秒");
+        start = System.currentTimeMillis();
+        radixSort(copy);
+        end = System.currentTimeMillis();
+        System.out.println("基数排序 " + copy.length + " 个时间戳耗时：" + (end - start) + "毫秒");
+        System.out.println(Arrays.equals(timestamps, copy));
+    }
 }
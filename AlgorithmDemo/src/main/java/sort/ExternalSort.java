@@ -0,0 +1,414 @@
+package sort;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 外部排序（External Sort），用于排序无法一次装入内存的定长记录文件。
+ * <p>
+ * 排序流程：
+ * (1) 生成有序段：按内存预算把输入文件分块读入内存，
+ * 用 {@link MergeSort} 排好序后通过 FileChannel 写入临时文件；
+ * (2) 多路归并：每次最多同时打开 fanIn 个有序段，每段按窗口读取，
+ * 用小根堆每次取出最小的记录写出；段数超过 fanIn 时分多趟归并，直到只剩一段。
+ * <p>
+ * 所有读取都用 FileChannel.read 读入复用的堆内缓冲区，不使用 MappedByteBuffer：
+ * 映射要等到 GC 时才释放，Windows 上映射未释放的文件无法删除，临时文件会删除失败。
+ * 内存预算包括：生成有序段时的记录数组、归并排序的临时数组和读写缓冲区各一个；
+ * 归并时 k 个段的读取窗口和写缓冲区。
+ * <p>
+ * 记录相等时先输出较早的段中的记录，块内排序又是稳定的，因此外部排序是稳定的。
+ * 外部排序的时间复杂度是O(N*logN)，磁盘读写次数约为 1 + log(段数, fanIn) 趟
+ */
+public class ExternalSort {
+
+    /**
+     * 每条记录在内存中除数据外的额外开销（数组对象头 + 引用），用于估算块大小
+     */
+    private static final int RECORD_OVERHEAD = 24;
+
+    /**
+     * 块内归并排序的临时数组中每条记录占用一个引用
+     */
+    private static final int REFERENCE_SIZE = 8;
+
+    /**
+     * 读写缓冲区的最大字节数
+     */
+    private static final int MAX_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * 数组（记录数组、读取窗口）的最大长度
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final int recordSize;
+    private final long memoryBudget;
+    private final int fanIn;
+    private final Comparator<byte[]> comparator;
+    private final Path tmpDir;
+
+    /**
+     * 按无符号字节的字典序排序，临时文件放在系统临时目录
+     *
+     * @param recordSize   每条记录的字节数
+     * @param memoryBudget 内存预算（字节）
+     * @param fanIn        每趟归并最多同时归并的段数
+     */
+    public ExternalSort(int recordSize, long memoryBudget, int fanIn) {
+        this(recordSize, memoryBudget, fanIn, Arrays::compareUnsigned, null);
+    }
+
+    /**
+     * @param recordSize   每条记录的字节数
+     * @param memoryBudget 内存预算（字节）
+     * @param fanIn        每趟归并最多同时归并的段数，至少为2
+     * @param comparator   记录比较器
+     * @param tmpDir       临时文件目录，null 表示系统临时目录
+     */
+    public ExternalSort(int recordSize, long memoryBudget, int fanIn,
+                        Comparator<byte[]> comparator, Path tmpDir) {
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("recordSize must be positive: " + recordSize);
+        }
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fanIn must be at least 2: " + fanIn);
+        }
+        if (memoryBudget < (long) (recordSize + RECORD_OVERHEAD + REFERENCE_SIZE) * (fanIn + 1)) {
+            throw new IllegalArgumentException("memoryBudget too small: " + memoryBudget);
+        }
+        this.recordSize = recordSize;
+        this.memoryBudget = memoryBudget;
+        this.fanIn = fanIn;
+        this.comparator = comparator;
+        this.tmpDir = tmpDir;
+    }
+
+    /**
+     * 排序 input 文件，结果写入 output 文件
+     *
+     * @param input  输入文件，长度必须是 recordSize 的整数倍
+     * @param output 输出文件，已存在时覆盖
+     */
+    public void sort(Path input, Path output) throws IOException {
+        List<Path> tmpFiles = new ArrayList<>();
+        try {
+            List<Path> runs = createRuns(input, tmpFiles);
+            if (runs.isEmpty()) {
+                Files.deleteIfExists(output);
+                Files.createFile(output);
+                return;
+            }
+            while (runs.size() > fanIn) {  // 中间趟：每 fanIn 个段归并成一个新段
+                List<Path> next = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    if (group.size() == 1) {
+                        next.add(group.get(0));
+                        continue;
+                    }
+                    Path merged = newTmpFile(tmpFiles);
+                    merge(group, merged);
+                    for (Path run : group) {
+                        Files.deleteIfExists(run);
+                    }
+                    next.add(merged);
+                }
+                runs = next;
+            }
+            if (runs.size() == 1) {
+                Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                merge(runs, output);
+            }
+        } finally {
+            for (Path tmpFile : tmpFiles) {
+                Files.deleteIfExists(tmpFile);
+            }
+        }
+    }
+
+    private Path newTmpFile(List<Path> tmpFiles) throws IOException {
+        Path path = tmpDir != null ? Files.createTempFile(tmpDir, "run-", ".tmp")
+                : Files.createTempFile("run-", ".tmp");
+        tmpFiles.add(path);
+        return path;
+    }
+
+    /**
+     * 把输入文件分块排序，每块写成一个有序段文件
+     */
+    private List<Path> createRuns(Path input, List<Path> tmpFiles) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        int bufferSize = bufferSize();
+        try (RunReader in = new RunReader(input, 0, bufferSize)) {
+            long size = in.size;
+            if (size % recordSize != 0) {
+                throw new IllegalArgumentException("file size " + size + " is not a multiple of " + recordSize);
+            }
+            long total = size / recordSize;
+            // 预算扣除读、写缓冲区后，平均每条记录还要算上对象开销和归并排序临时数组中的引用
+            long chunkBudget = memoryBudget - 2L * bufferSize;
+            int chunkRecords = (int) Math.min(total, Math.min(
+                    chunkBudget / (recordSize + RECORD_OVERHEAD + REFERENCE_SIZE), MAX_ARRAY_SIZE));
+            if (chunkRecords == 0) {
+                return runs;
+            }
+            // 记录数组在各块之间复用，整个排序只分配一次
+            byte[][] records = new byte[chunkRecords][recordSize];
+            for (long done = 0; done < total; ) {
+                int n = (int) Math.min(chunkRecords, total - done);
+                for (int i = 0; i < n; i++) {
+                    in.read(records[i]);
+                }
+                MergeSort.mergeSort(records, 0, n, comparator);
+
+                Path run = newTmpFile(tmpFiles);
+                try (RunWriter writer = new RunWriter(run, bufferSize)) {
+                    for (int i = 0; i < n; i++) {
+                        writer.write(records[i]);
+                    }
+                }
+                runs.add(run);
+                done += n;
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * 多路归并 runs 到 output
+     */
+    private void merge(List<Path> runs, Path output) throws IOException {
+        int k = runs.size();
+        int window = readWindowSize(k);
+        RunReader[] heap = new RunReader[k];
+        int size = 0;
+        try (RunWriter writer = new RunWriter(output, bufferSize())) {
+            try {
+                for (int i = 0; i < k; i++) {
+                    RunReader reader = new RunReader(runs.get(i), i, window);
+                    boolean nonEmpty;
+                    try {
+                        nonEmpty = reader.next();
+                    } catch (Throwable e) {  // 还没有放入堆，finally 不会关闭它
+                        try {
+                            reader.close();
+                        } catch (IOException suppressed) {
+                            e.addSuppressed(suppressed);
+                        }
+                        throw e;
+                    }
+                    if (nonEmpty) {
+                        heap[size++] = reader;
+                    } else {
+                        reader.close();
+                    }
+                }
+                for (int i = (size >>> 1) - 1; i >= 0; i--) {  // 自底向上建小根堆
+                    adjustDown(heap, i, size);
+                }
+                while (size > 0) {
+                    RunReader top = heap[0];
+                    writer.write(top.current);
+                    if (!top.next()) {  // 该段已读完，用堆尾替换堆顶
+                        top.close();
+                        heap[0] = heap[--size];
+                        heap[size] = null;
+                    }
+                    if (size > 0) {
+                        adjustDown(heap, 0, size);
+                    }
+                }
+            } finally {
+                for (int i = 0; i < size; i++) {
+                    heap[i].close();
+                }
+            }
+        }
+    }
+
+    /**
+     * 小根堆向下调整，记录相等时段号小的优先
+     */
+    private void adjustDown(RunReader[] heap, int current, int size) {
+        RunReader data = heap[current];
+        int left = 2 * current + 1;
+        while (left < size) {
+            if (left + 1 < size && less(heap[left + 1], heap[left])) {  // 取较小的孩子
+                left++;
+            }
+            if (!less(heap[left], data)) {
+                break;
+            }
+            heap[current] = heap[left];
+            current = left;
+            left = 2 * current + 1;
+        }
+        heap[current] = data;
+    }
+
+    private boolean less(RunReader x, RunReader y) {
+        int cmp = comparator.compare(x.current, y.current);
+        return cmp < 0 || (cmp == 0 && x.index < y.index);
+    }
+
+    /**
+     * 归并时每个段的读取窗口：内存预算扣除写缓冲区后平均分给 k 个段
+     */
+    private int readWindowSize(int k) {
+        long perRun = (memoryBudget - bufferSize()) / k / recordSize;
+        return (int) Math.max(1, Math.min(perRun, MAX_ARRAY_SIZE / recordSize)) * recordSize;
+    }
+
+    /**
+     * 生成有序段时的读、写缓冲区和归并时的写缓冲区大小：
+     * 不超过预算的 1/(fanIn+1) 和 {@value #MAX_BUFFER_SIZE}，是 recordSize 的整数倍
+     */
+    private int bufferSize() {
+        long records = Math.min(memoryBudget / (fanIn + 1), MAX_BUFFER_SIZE) / recordSize;
+        return (int) Math.max(1, records) * recordSize;
+    }
+
+    /**
+     * 通过 FileChannel 按窗口顺序读取记录文件（输入文件或有序段），窗口缓冲区重复使用
+     */
+    private class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final int index;
+        private final long size;
+        private long position;
+        private final ByteBuffer buffer;
+        private final byte[] current = new byte[recordSize];
+
+        RunReader(Path run, int index, int window) throws IOException {
+            FileChannel channel = FileChannel.open(run, StandardOpenOption.READ);
+            try {
+                this.size = channel.size();
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            this.channel = channel;
+            this.index = index;
+            this.buffer = ByteBuffer.allocate(window);
+            buffer.flip();  // 初始为空，第一次读取时装满
+        }
+
+        /**
+         * 读取下一条记录到 current
+         *
+         * @return 没有更多记录时返回 false
+         */
+        boolean next() throws IOException {
+            if (!buffer.hasRemaining() && position >= size) {
+                return false;
+            }
+            read(current);
+            return true;
+        }
+
+        /**
+         * 读取下一条记录到 record，调用方保证还有记录
+         */
+        void read(byte[] record) throws IOException {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), size - position));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new EOFException("Unexpected end of file at " + (position + buffer.position()));
+                    }
+                }
+                buffer.flip();
+                position += buffer.limit();
+            }
+            buffer.get(record);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * 通过 FileChannel 顺序写出记录，写满缓冲区再落盘
+     */
+    private static class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        RunWriter(Path path, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        void write(byte[] record) throws IOException {
+            if (buffer.remaining() < record.length) {
+                flush();
+            }
+            buffer.put(record);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int recordSize = 16;
+        int length = 1000000;
+        Path input = Files.createTempFile("external-sort-input", ".dat");
+        Path output = Files.createTempFile("external-sort-output", ".dat");
+        Random random = new Random();
+        try (RunWriter writer = new RunWriter(input, 1 << 16)) {
+            byte[] record = new byte[recordSize];
+            for (int i = 0; i < length; i++) {
+                random.nextBytes(record);
+                writer.write(record);
+            }
+        }
+
+        // 1MB 内存预算，约生成 60 个段，fanIn 为 8 时需要两趟归并
+        ExternalSort sorter = new ExternalSort(recordSize, 1 << 20, 8);
+        long start = System.currentTimeMillis();
+        sorter.sort(input, output);
+        long end = System.currentTimeMillis();
+        System.out.println("外部排序 " + length + " 条记录耗时：" + (end - start) + "毫秒");
+
+        byte[] all = Files.readAllBytes(output);
+        boolean sorted = all.length == length * recordSize;
+        for (int i = recordSize; sorted && i < all.length; i += recordSize) {
+            sorted = Arrays.compareUnsigned(all, i - recordSize, i, all, i, i + recordSize) <= 0;
+        }
+        System.out.println(sorted);
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+    }
+}
@@ -1,8 +1,8 @@
 package sort;
 
-import heap.BinaryHeap;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Comparator;
 import java.util.Random;
 
 /**
@@ -12,21 +12,337 @@ import java.util.Random;
  * 大根堆的要求是每个节点的值都不大于其父节点的值，
  * 在数组的非降序排序中，需要使用的就是大根堆，
  * 因为根据大根堆的要求可知，最大的值一定在堆顶。
+ * <p>
+ * 这里直接在原数组上建堆，不借助额外的容器：
+ * (1) 建堆：从最后一个非叶子结点开始向前逐个向下调整（Floyd建堆），O(N)；
+ * (2) 排序：堆顶与堆尾交换后，先把堆顶空位沿较大的孩子一路下沉到叶子，
+ * 再把原堆尾元素从该位置向上调整。下沉时每层只比较一次，比较次数约为普通调整的一半。
+ * 降序排序先按升序排好再原地反转。
  *
  * 堆排序是不稳定的算法
  * 堆排序的最差时间分析是O(N*logN)
  * 堆排序的时间复杂度是O(N*logN)
- * 堆排序的空间复杂度是O(1) - -
+ * 堆排序的空间复杂度是O(1)
  */
 public class HeapSort {
 
-    private static void heapSort(Comparable[] a) {
-        BinaryHeap<? extends Comparable> heap = new BinaryHeap<>(a);
-        for (int i = 0; i < a.length; i++) {
-            a[i] = heap.pollTop();
+    /**
+     * 堆排序（升序）
+     *
+     * @param a 需要排序的数组
+     */
+    public static void heapSort(Comparable[] a) {
+        heapSort(a, 0, a.length, SortUtil.naturalOrder());
+    }
+
+    /**
+     * 堆排序
+     *
+     * @param a          需要排序的数组
+     * @param descending 是否降序
+     */
+    public static void heapSort(Comparable[] a, boolean descending) {
+        heapSort(a, 0, a.length, SortUtil.naturalOrder());
+        if (descending) {
+            reverse(a, 0, a.length);
+        }
+    }
+
+    /**
+     * 对 [from, to) 区间原地升序堆排序
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void heapSort(T[] a, int from, int to, Comparator<? super T> c) {
+        SortUtil.rangeCheck(a.length, from, to);
+        int n = to - from;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {  // 自底向上建堆
+            adjustDown(a, from, i, n, c);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            T last = a[from + i];
+            a[from + i] = a[from];  // 堆顶（最大值）放到末尾
+            int hole = 0;
+            int child;
+            while ((child = 2 * hole + 1) < i) {  // 空位沿较大的孩子下沉到叶子
+                if (child + 1 < i && c.compare(a[from + child], a[from + child + 1]) < 0) {
+                    child++;
+                }
+                a[from + hole] = a[from + child];
+                hole = child;
+            }
+            while (hole > 0) {  // 原堆尾元素从叶子处向上调整
+                int parent = (hole - 1) >>> 1;
+                if (c.compare(a[from + parent], last) >= 0) {
+                    break;
+                }
+                a[from + hole] = a[from + parent];
+                hole = parent;
+            }
+            a[from + hole] = last;
         }
     }
 
+    private static <T> void adjustDown(T[] a, int base, int current, int size, Comparator<? super T> c) {
+        T data = a[base + current];
+        int left = 2 * current + 1;
+        while (left < size) {
+            if (left + 1 < size && c.compare(a[base + left], a[base + left + 1]) < 0) {  // 取较大的孩子
+                left++;
+            }
+            if (c.compare(data, a[base + left]) >= 0) {
+                break;
+            }
+            a[base + current] = a[base + left];
+            current = left;
+            left = 2 * current + 1;
+        }
+        a[base + current] = data;
+    }
+
+    private static void reverse(Object[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            SortUtil.swap(a, i, j);
+        }
+    }
+
+    /**
+     * 堆排序（int[] 版本，不装箱，升序）
+     *
+     * @param a 需要排序的数组
+     */
+    public static void heapSort(int[] a) {
+        heapSort(a, 0, a.length);
+    }
+
+    /**
+     * 堆排序（int[] 版本，不装箱）
+     *
+     * @param a          需要排序的数组
+     * @param descending 是否降序
+     */
+    public static void heapSort(int[] a, boolean descending) {
+        heapSort(a, 0, a.length);
+        if (descending) {
+            reverse(a, 0, a.length);
+        }
+    }
+
+    /**
+     * 对 [from, to) 区间原地升序堆排序
+     */
+    static void heapSort(int[] a, int from, int to) {
+        int n = to - from;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {  // 自底向上建堆
+            adjustDown(a, from, i, n);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int last = a[from + i];
+            a[from + i] = a[from];  // 堆顶（最大值）放到末尾
+            int hole = 0;
+            int child;
+            while ((child = 2 * hole + 1) < i) {  // 空位沿较大的孩子下沉到叶子
+                if (child + 1 < i && a[from + child] < a[from + child + 1]) {
+                    child++;
+                }
+                a[from + hole] = a[from + child];
+                hole = child;
+            }
+            while (hole > 0) {  // 原堆尾元素从叶子处向上调整
+                int parent = (hole - 1) >>> 1;
+                if (a[from + parent] >= last) {
+                    break;
+                }
+                a[from + hole] = a[from + parent];
+                hole = parent;
+            }
+            a[from + hole] = last;
+        }
+    }
+
+    private static void adjustDown(int[] a, int base, int current, int size) {
+        int data = a[base + current];
+        int left = 2 * current + 1;
+        while (left < size) {
+            if (left + 1 < size && a[base + left] < a[base + left + 1]) {  // 取较大的孩子
+                left++;
+            }
+            if (data >= a[base + left]) {
+                break;
+            }
+            a[base + current] = a[base + left];
+            current = left;
+            left = 2 * current + 1;
+        }
+        a[base + current] = data;
+    }
+
+    private static void reverse(int[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            SortUtil.swap(a, i, j);
+        }
+    }
+
+    /**
+     * 堆排序（long[] 版本，不装箱，升序）
+     *
+     * @param a 需要排序的数组
+     */
+    public static void heapSort(long[] a) {
+        heapSort(a, 0, a.length);
+    }
+
+    /**
+     * 堆排序（long[] 版本，不装箱）
+     *
+     * @param a          需要排序的数组
+     * @param descending 是否降序
+     */
+    public static void heapSort(long[] a, boolean descending) {
+        heapSort(a, 0, a.length);
+        if (descending) {
+            reverse(a, 0, a.length);
+        }
+    }
+
+    /**
+     * 对 [from, to) 区间原地升序堆排序
+     */
+    static void heapSort(long[] a, int from, int to) {
+        int n = to - from;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {  // 自底向上建堆
+            adjustDown(a, from, i, n);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            long last = a[from + i];
+            a[from + i] = a[from];  // 堆顶（最大值）放到末尾
+            int hole = 0;
+            int child;
+            while ((child = 2 * hole + 1) < i) {  // 空位沿较大的孩子下沉到叶子
+                if (child + 1 < i && a[from + child] < a[from + child + 1]) {
+                    child++;
+                }
+                a[from + hole] = a[from + child];
+                hole = child;
+            }
+            while (hole > 0) {  // 原堆尾元素从叶子处向上调整
+                int parent = (hole - 1) >>> 1;
+                if (a[from + parent] >= last) {
+                    break;
+                }
+                a[from + hole] = a[from + parent];
+                hole = parent;
+            }
+            a[from + hole] = last;
+        }
+    }
+
+    private static void adjustDown(long[] a, int base, int current, int size) {
+        long data = a[base + current];
+        int left = 2 * current + 1;
+        while (left < size) {
+            if (left + 1 < size && a[base + left] < a[base + left + 1]) {  // 取较大的孩子
+                left++;
+            }
+            if (data >= a[base + left]) {
+                break;
+            }
+            a[base + current] = a[base + left];
+            current = left;
+            left = 2 * current + 1;
+        }
+        a[base + current] = data;
+    }
+
+    private static void reverse(long[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            SortUtil.swap(a, i, j);
+        }
+    }
+
+    /**
+     * 堆排序（double[] 版本，不装箱，升序）
+     * 顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a 需要排序的数组
+     */
+    public static void heapSort(double[] a) {
+        heapSort(a, false);
+    }
+
+    /**
+     * 堆排序（double[] 版本，不装箱）
+     * 降序是升序结果的逆序：NaN 排在最前面，0.0 排在 -0.0 前面
+     *
+     * @param a          需要排序的数组
+     * @param descending 是否降序
+     */
+    public static void heapSort(double[] a, boolean descending) {
+        int n = SortUtil.moveNaNsToEnd(a, 0, a.length);
+        heapSort(a, 0, n);
+        SortUtil.sortZeros(a, 0, n);
+        if (descending) {
+            reverse(a, 0, a.length);
+        }
+    }
+
+    /**
+     * 对 [from, to) 区间原地升序堆排序，区间内不能有 NaN
+     */
+    static void heapSort(double[] a, int from, int to) {
+        int n = to - from;
+        for (int i = (n >>> 1) - 1; i >= 0; i--) {  // 自底向上建堆
+            adjustDown(a, from, i, n);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            double last = a[from + i];
+            a[from + i] = a[from];  // 堆顶（最大值）放到末尾
+            int hole = 0;
+            int child;
+            while ((child = 2 * hole + 1) < i) {  // 空位沿较大的孩子下沉到叶子
+                if (child + 1 < i && a[from + child] < a[from + child + 1]) {
+                    child++;
+                }
+                a[from + hole] = a[from + child];
+                hole = child;
+            }
+            while (hole > 0) {  // 原堆尾元素从叶子处向上调整
+                int parent = (hole - 1) >>> 1;
+                if (a[from + parent] >= last) {
+                    break;
+                }
+                a[from + hole] = a[from + parent];
+                hole = parent;
+            }
+            a[from + hole] = last;
+        }
+    }
+
+    private static void adjustDown(double[] a, int base, int current, int size) {
+        double data = a[base + current];
+        int left = 2 * current + 1;
+        while (left < size) {
+            if (left + 1 < size && a[base + left] < a[base + left + 1]) {  // 取较大的孩子
+                left++;
+            }
+            if (data >= a[base + left]) {
+                break;
+            }
+            a[base + current] = a[base + left];
+            current = left;
+            left = 2 * current + 1;
+        }
+        a[base + current] = data;
+    }
+
+    private static void reverse(double[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            SortUtil.swap(a, i, j);
+        }
+    }
 
     public static void main(String[] args) {
         int length = 10000;
@@ -42,6 +358,9 @@ public class HeapSort {
         System.out.println("结束时间：" + end + "毫秒");
         System.out.println("耗时：" + (end - start) + "毫秒");
         System.out.println(StringUtils.join(a, ','));
+        System.out.println(SortUtil.isMonotoneInc(a));
+
+        heapSort(a, true);
         System.out.println(SortUtil.isMonotoneDec(a));
     }
 }
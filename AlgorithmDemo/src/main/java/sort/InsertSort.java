@@ -2,6 +2,7 @@ package sort;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Comparator;
 import java.util.Random;
 
 /**
@@ -24,30 +25,119 @@ public class InsertSort {
      *
      * @param a 需要排序的数组
      */
-    private static void insertSort(Comparable a[]) {
-        int length = a.length;
-        int sortIndex = 0;  // 最大排好序的索引
+    public static void insertSort(Comparable[] a) {
+        insertSort(a, 0, a.length, SortUtil.naturalOrder());
+    }
 
-        while (sortIndex < length - 1) {
-            int i;
-            for (i = sortIndex + 1; i < length; i++) {
-                if (a[i].compareTo(a[i - 1])<0) {  // 找到不成顺序开始的位置
-                    break;
-                }
+    /**
+     * 对 [from, to) 区间做插入排序，用后移代替交换，保持稳定
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void insertSort(T[] a, int from, int to, Comparator<? super T> c) {
+        SortUtil.rangeCheck(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            T current = a[i];
+            int j = i - 1;
+            while (j >= from && c.compare(a[j], current) > 0) {
+                a[j + 1] = a[j];
+                j--;
             }
-            for (int j = i; j > 0; j--) {
-                if (a[j - 1].compareTo(a[j])>0) {
-                    SortUtil.swap(a, j - 1, j);
-                } else {
-                    break;
-                }
+            a[j + 1] = current;
+        }
+    }
+
+    /**
+     * 插入排序（int[] 版本，不装箱）
+     * 用后移代替交换，每个元素只写一次
+     *
+     * @param a 需要排序的数组
+     */
+    public static void insertSort(int[] a) {
+        insertSort(a, 0, a.length - 1);
+    }
+
+    /**
+     * 对 [left, right] 区间做插入排序
+     *
+     * @param a     需要排序的数组
+     * @param left  区间左边界
+     * @param right 区间右边界（包含）
+     */
+    public static void insertSort(int[] a, int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            int current = a[i];
+            int j = i - 1;
+            while (j >= left && a[j] > current) {
+                a[j + 1] = a[j];  // 比current大的元素后移一位
+                j--;
             }
-            sortIndex = i;
+            a[j + 1] = current;
         }
+    }
 
+    /**
+     * 插入排序（long[] 版本，不装箱）
+     * 用后移代替交换，每个元素只写一次
+     *
+     * @param a 需要排序的数组
+     */
+    public static void insertSort(long[] a) {
+        insertSort(a, 0, a.length - 1);
     }
 
+    /**
+     * 对 [left, right] 区间做插入排序
+     *
+     * @param a     需要排序的数组
+     * @param left  区间左边界
+     * @param right 区间右边界（包含）
+     */
+    public static void insertSort(long[] a, int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            long current = a[i];
+            int j = i - 1;
+            while (j >= left && a[j] > current) {
+                a[j + 1] = a[j];  // 比current大的元素后移一位
+                j--;
+            }
+            a[j + 1] = current;
+        }
+    }
 
+    /**
+     * 插入排序（double[] 版本，不装箱）
+     * 用后移代替交换，每个元素只写一次；顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a 需要排序的数组
+     */
+    public static void insertSort(double[] a) {
+        insertSort(a, 0, a.length - 1);
+    }
+
+    /**
+     * 对 [left, right] 区间做插入排序
+     *
+     * @param a     需要排序的数组
+     * @param left  区间左边界
+     * @param right 区间右边界（包含）
+     */
+    public static void insertSort(double[] a, int left, int right) {
+        int end = SortUtil.moveNaNsToEnd(a, left, right + 1);
+        for (int i = left + 1; i < end; i++) {
+            double current = a[i];
+            int j = i - 1;
+            while (j >= left && a[j] > current) {
+                a[j + 1] = a[j];  // 比current大的元素后移一位
+                j--;
+            }
+            a[j + 1] = current;
+        }
+        SortUtil.sortZeros(a, left, end);
+    }
 
     public static void main(String[] args) {
         int length = 1000;
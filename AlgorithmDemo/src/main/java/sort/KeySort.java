@@ -0,0 +1,303 @@
+package sort;
+
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 按提取的键排序（Schwartzian 变换 / 索引排序），用于 compareTo 代价很高的对象（如按字符串排序规则比较）。
+ * <p>
+ * 排序流程：
+ * (1) 对每个元素只调用一次键函数，把键放进基本类型的并行数组；
+ * (2) 只对键和下标排序，得到一个下标排列 perm，perm[k] 是排序后位于 k 的元素原来的下标；
+ * (3) 沿置换的环移动元素，原地把 perm 应用到原数组，每个元素只移动一次。
+ * <p>
+ * 三种键：
+ * int 键与下标打包成一个 long（键在高32位，下标在低32位），直接对 long[] 基数排序；
+ * long 键对 (键, 下标) 两个数组做稳定的 LSD 基数排序；
+ * byte[] 键（如 {@link java.text.CollationKey#toByteArray()}、UTF-8 编码的字符串）
+ * 按无符号字节的字典序对下标归并排序。
+ * <p>
+ * 键相等时保持原来的先后顺序，三种键排序都是稳定的。
+ * 键函数调用N次，不再调用 compareTo；额外空间O(N)
+ */
+public class KeySort {
+
+    /**
+     * 下标归并排序中区间长度小于该值时使用插入排序
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * 按 int 键排序
+     *
+     * @param a   需要排序的数组
+     * @param key 键函数
+     */
+    public static <T> void sortByInt(T[] a, ToIntFunction<? super T> key) {
+        sortByInt(a, 0, a.length, key);
+    }
+
+    /**
+     * 对 [from, to) 区间按 int 键排序
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param key  键函数
+     */
+    public static <T> void sortByInt(T[] a, int from, int to, ToIntFunction<? super T> key) {
+        SortUtil.rangeCheck(a.length, from, to);
+        int n = to - from;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {  // 下标非负，低32位按无符号比较，键相同时按下标排序
+            packed[i] = ((long) key.applyAsInt(a[from + i]) << 32) | i;
+        }
+        BucketSort.radixSort(packed);
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) {
+            perm[i] = (int) packed[i];
+        }
+        permute(a, from, perm);
+    }
+
+    /**
+     * 按 long 键排序
+     *
+     * @param a   需要排序的数组
+     * @param key 键函数
+     */
+    public static <T> void sortByLong(T[] a, ToLongFunction<? super T> key) {
+        sortByLong(a, 0, a.length, key);
+    }
+
+    /**
+     * 对 [from, to) 区间按 long 键排序
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param key  键函数
+     */
+    public static <T> void sortByLong(T[] a, int from, int to, ToLongFunction<? super T> key) {
+        SortUtil.rangeCheck(a.length, from, to);
+        int n = to - from;
+        long[] keys = new long[n];
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = key.applyAsLong(a[from + i]);
+            perm[i] = i;
+        }
+        radixSort(keys, perm);
+        permute(a, from, perm);
+    }
+
+    /**
+     * 按 byte[] 键的无符号字典序排序
+     *
+     * @param a   需要排序的数组
+     * @param key 键函数
+     */
+    public static <T> void sortByBytes(T[] a, Function<? super T, byte[]> key) {
+        sortByBytes(a, 0, a.length, key);
+    }
+
+    /**
+     * 对 [from, to) 区间按 byte[] 键的无符号字典序排序
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param key  键函数
+     */
+    public static <T> void sortByBytes(T[] a, int from, int to, Function<? super T, byte[]> key) {
+        SortUtil.rangeCheck(a.length, from, to);
+        int n = to - from;
+        byte[][] keys = new byte[n][];
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = key.apply(a[from + i]);
+            perm[i] = i;
+        }
+        mergeSort(perm, new int[n], keys, 0, n);
+        permute(a, from, perm);
+    }
+
+    /**
+     * 对 (keys, perm) 做 LSD 基数排序，每趟按8位分配，
+     * 一趟统计出所有位上的计数，某一位上所有键都相同时跳过该趟；最高位与符号位异或，使负数排在正数前面
+     */
+    private static void radixSort(long[] keys, int[] perm) {
+        int n = keys.length;
+        if (n <= 1) {
+            return;
+        }
+        int[] result = perm;
+        int[][] counts = new int[8][256];
+        for (long k : keys) {
+            long u = k ^ Long.MIN_VALUE;
+            for (int d = 0; d < 8; d++) {
+                counts[d][(int) (u >>> (d << 3)) & 0xFF]++;
+            }
+        }
+        long[] keyTmp = new long[n];
+        int[] permTmp = new int[n];
+        for (int d = 0; d < 8; d++) {
+            int[] count = counts[d];
+            int shift = d << 3;
+            if (count[(int) ((keys[0] ^ Long.MIN_VALUE) >>> shift) & 0xFF] == n) {
+                continue;
+            }
+            for (int i = 0, sum = 0; i < 256; i++) {
+                int c = count[i];
+                count[i] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int digit = (int) ((keys[i] ^ Long.MIN_VALUE) >>> shift) & 0xFF;
+                int pos = count[digit]++;
+                keyTmp[pos] = keys[i];
+                permTmp[pos] = perm[i];
+            }
+            long[] k = keys;
+            keys = keyTmp;
+            keyTmp = k;
+            int[] p = perm;
+            perm = permTmp;
+            permTmp = p;
+        }
+        if (perm != result) {  // 奇数趟时结果在临时数组中
+            System.arraycopy(perm, 0, result, 0, n);
+        }
+    }
+
+    /**
+     * 稳定地按 keys 对下标排序 [lo, hi)
+     */
+    private static void mergeSort(int[] perm, int[] tmp, byte[][] keys, int lo, int hi) {
+        if (hi - lo < INSERTION_SORT_THRESHOLD) {
+            for (int i = lo + 1; i < hi; i++) {
+                int current = perm[i];
+                int j = i - 1;
+                while (j >= lo && Arrays.compareUnsigned(keys[perm[j]], keys[current]) > 0) {
+                    perm[j + 1] = perm[j];
+                    j--;
+                }
+                perm[j + 1] = current;
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        mergeSort(perm, tmp, keys, lo, mid);
+        mergeSort(perm, tmp, keys, mid, hi);
+        if (Arrays.compareUnsigned(keys[perm[mid - 1]], keys[perm[mid]]) <= 0) {  // 两段已经整体有序
+            return;
+        }
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            if (Arrays.compareUnsigned(keys[perm[i]], keys[perm[j]]) <= 0) {
+                tmp[k++] = perm[i++];
+            } else {
+                tmp[k++] = perm[j++];
+            }
+        }
+        while (i < mid) {
+            tmp[k++] = perm[i++];
+        }
+        while (j < hi) {
+            tmp[k++] = perm[j++];
+        }
+        System.arraycopy(tmp, lo, perm, lo, hi - lo);
+    }
+
+    /**
+     * 按 perm 原地重排 a[from, from + perm.length)：排序后位于 k 的是原来位于 perm[k] 的元素。
+     * 沿置换的每个环移动元素，处理过的位置把 perm 改为自身作为标记
+     */
+    private static <T> void permute(T[] a, int from, int[] perm) {
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] == i) {
+                continue;
+            }
+            T first = a[from + i];
+            int j = i;
+            while (true) {
+                int k = perm[j];
+                perm[j] = j;
+                if (k == i) {
+                    a[from + j] = first;
+                    break;
+                }
+                a[from + j] = a[from + k];
+                j = k;
+            }
+        }
+    }
+
+    /**
+     * 与 bean.MqBean 字段相同的示例对象
+     */
+    private static class Person {
+        private final int age;
+        private final String name;
+
+        Person(int age, String name) {
+            this.age = age;
+            this.name = name;
+        }
+
+        int getAge() {
+            return age;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+
+    public static void main(String[] args) {
+        int length = 1000000;
+        Random random = new Random();
+        Person[] people = new Person[length];
+        for (int i = 0; i < length; i++) {
+            char[] name = new char[8];
+            for (int j = 0; j < name.length; j++) {
+                name[j] = (char) ('a' + random.nextInt(26));
+            }
+            people[i] = new Person(random.nextInt(100), new String(name));
+        }
+        Collator collator = Collator.getInstance(Locale.CHINA);
+        Comparator<Person> byName = (x, y) -> collator.compare(x.getName(), y.getName());
+
+        Person[] a = people.clone();
+        long start = System.currentTimeMillis();
+        TimSort.timSort(a, 0, a.length, byName);
+        long end = System.currentTimeMillis();
+        System.out.println("按 name 用 Collator 比较器排序耗时：" + (end - start) + "毫秒");
+
+        Person[] b = people.clone();
+        start = System.currentTimeMillis();
+        sortByBytes(b, p -> collator.getCollationKey(p.getName()).toByteArray());
+        end = System.currentTimeMillis();
+        System.out.println("按 name 的排序键排序耗时：" + (end - start) + "毫秒");
+        System.out.println(Arrays.equals(a, b));
+
+        a = people.clone();
+        start = System.currentTimeMillis();
+        TimSort.timSort(a, 0, a.length, Comparator.comparingInt(Person::getAge));
+        end = System.currentTimeMillis();
+        System.out.println("按 age 用比较器排序耗时：" + (end - start) + "毫秒");
+
+        b = people.clone();
+        start = System.currentTimeMillis();
+        sortByInt(b, Person::getAge);
+        end = System.currentTimeMillis();
+        System.out.println("按 age 的 int 键排序耗时：" + (end - start) + "毫秒");
+        System.out.println(Arrays.equals(a, b));
+    }
+}
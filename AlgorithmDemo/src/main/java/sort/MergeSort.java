@@ -2,7 +2,10 @@ package sort;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Comparator;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * 归并排序（MERGE-SORT）是建立在归并操作上的一种有效的排序算法,
@@ -18,29 +21,227 @@ import java.util.Random;
  */
 public class MergeSort {
 
-    private static void mergeSort(Comparable[] a, int start, int end) {
+    /**
+     * 并行归并时，区间长度不超过该值就不再拆分任务，改为当前线程顺序归并
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+     * 区间长度不超过该值时直接使用插入排序
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    public static void mergeSort(Comparable[] a, int start, int end) {
         if (start >= end) {
             return;
         }
-        int mid = (end + start) / 2;
-        mergeSort(a, start, mid);
-        mergeSort(a, mid + 1, end);
-        merge(a, start, mid + 1, end);
+        mergeSort(a, start, end + 1, SortUtil.naturalOrder());
+    }
+
+    /**
+     * 对 [from, to) 区间归并排序
+     *
+     * @param a    需要排序数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void mergeSort(T[] a, int from, int to, Comparator<? super T> c) {
+        SortUtil.rangeCheck(a.length, from, to);
+        if (to - from <= 1) {
+            return;
+        }
+        mergeSort(a, SortUtil.newArray(a, to - from), from, from, to - 1, c);
+    }
+
+    /**
+     * 顺序归并排序，所有归并共用同一个临时数组 tmp，
+     * a[i] 对应 tmp[i - base]，不同区间互不干扰
+     */
+    private static <T> void mergeSort(T[] a, T[] tmp, int base, int start, int end, Comparator<? super T> c) {
+        if (end - start < INSERTION_SORT_THRESHOLD) {
+            InsertSort.insertSort(a, start, end + 1, c);
+            return;
+        }
+        int mid = (end + start) >>> 1;
+        mergeSort(a, tmp, base, start, mid, c);
+        mergeSort(a, tmp, base, mid + 1, end, c);
+        merge(a, tmp, base, start, mid + 1, end, c);
+    }
+
+    /**
+     * 并行归并排序，使用公共 ForkJoinPool
+     *
+     * @param a 需要排序数组
+     */
+    public static void parallelMergeSort(Comparable[] a) {
+        parallelMergeSort(a, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * 并行归并排序，使用公共 ForkJoinPool
+     *
+     * @param a         需要排序数组
+     * @param threshold 顺序归并的区间长度阈值
+     */
+    public static void parallelMergeSort(Comparable[] a, int threshold) {
+        parallelMergeSort(a, threshold, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行归并排序
+     *
+     * @param a         需要排序数组
+     * @param threshold 顺序归并的区间长度阈值
+     * @param pool      执行任务的线程池
+     */
+    public static void parallelMergeSort(Comparable[] a, int threshold, ForkJoinPool pool) {
+        parallelMergeSort(a, 0, a.length, SortUtil.naturalOrder(), threshold, pool);
+    }
+
+    /**
+     * 对 [from, to) 区间并行归并排序，使用公共 ForkJoinPool
+     *
+     * @param a    需要排序数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void parallelMergeSort(T[] a, int from, int to, Comparator<? super T> c) {
+        parallelMergeSort(a, from, to, c, DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 对 [from, to) 区间并行归并排序
+     * 区间长度大于 threshold 时拆成两个子任务并行排序，再在当前线程归并；
+     * 不超过 threshold 时退化为顺序归并（小区间用插入排序）。
+     * 整个排序只分配一个与区间等长的临时数组。
+     *
+     * @param a         需要排序数组
+     * @param from      区间开始位置（包含）
+     * @param to        区间结束位置（不包含）
+     * @param c         比较器
+     * @param threshold 顺序归并的区间长度阈值
+     * @param pool      执行任务的线程池
+     */
+    public static <T> void parallelMergeSort(T[] a, int from, int to, Comparator<? super T> c,
+                                             int threshold, ForkJoinPool pool) {
+        SortUtil.rangeCheck(a.length, from, to);
+        if (to - from <= 1) {
+            return;
+        }
+        if (threshold < INSERTION_SORT_THRESHOLD) {
+            threshold = INSERTION_SORT_THRESHOLD;
+        }
+        pool.invoke(new MergeTask<>(a, SortUtil.newArray(a, to - from), from, from, to - 1, c, threshold));
+    }
+
+    /**
+     * 并行归并任务，负责 [start, end] 区间
+     */
+    private static class MergeTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final T[] a;
+        private final T[] tmp;
+        private final int base;
+        private final int start;
+        private final int end;
+        private final Comparator<? super T> c;
+        private final int threshold;
+
+        MergeTask(T[] a, T[] tmp, int base, int start, int end, Comparator<? super T> c, int threshold) {
+            this.a = a;
+            this.tmp = tmp;
+            this.base = base;
+            this.start = start;
+            this.end = end;
+            this.c = c;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start < threshold) {
+                mergeSort(a, tmp, base, start, end, c);
+                return;
+            }
+            int mid = (end + start) >>> 1;
+            invokeAll(new MergeTask<>(a, tmp, base, start, mid, c, threshold),
+                    new MergeTask<>(a, tmp, base, mid + 1, end, c, threshold));
+            merge(a, tmp, base, start, mid + 1, end, c);
+        }
     }
 
     /**
      * 二路归并
+     * 相等时优先取第一个子序列的元素，保证稳定
      *
      * @param a      需合并数组
+     * @param tmp    临时数组，a[i] 对应 tmp[i - base]
+     * @param base   tmp 对应 a 中的起始位置
      * @param first  第一个有序子序列开始位置
      * @param second 第二个有序子序列开始位置
      * @param end    第二个有序子序列结束位置
+     * @param c      比较器
+     */
+    private static <T> void merge(T[] a, T[] tmp, int base, int first, int second, int end, Comparator<? super T> c) {
+        if (c.compare(a[second - 1], a[second]) <= 0) {  // 两段已经整体有序
+            return;
+        }
+        int i = first, j = second, k = first - base;
+        while (i < second && j <= end) {  // 两个子序列 均没遍历结束
+            if (c.compare(a[i], a[j]) <= 0) {
+                tmp[k++] = a[i++];
+            } else {
+                tmp[k++] = a[j++];
+            }
+        }
+        while (i < second) {  // 只有第一个子序列
+            tmp[k++] = a[i++];
+        }
+        while (j <= end) { // 只有第二个子序列
+            tmp[k++] = a[j++];
+        }
+        System.arraycopy(tmp, first - base, a, first, end - first + 1);
+    }
+
+    /**
+     * 归并排序（int[] 版本，不装箱）
+     * 整个排序过程只分配一次临时数组
+     *
+     * @param a     需要排序数组
+     * @param start 开始位置
+     * @param end   结束位置（包含）
+     */
+    public static void mergeSort(int[] a, int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        mergeSort(a, new int[end - start + 1], start, end);
+    }
+
+    private static void mergeSort(int[] a, int[] tmp, int start, int end) {
+        if (end - start < INSERTION_SORT_THRESHOLD) {  // 基本类型不需要稳定，小区间用排序网络
+            SortingNetwork.sort(a, start, end + 1);
+            return;
+        }
+        int mid = (end + start) >>> 1;
+        mergeSort(a, tmp, start, mid);
+        mergeSort(a, tmp, mid + 1, end);
+        if (a[mid] <= a[mid + 1]) {  // 两段已经整体有序
+            return;
+        }
+        merge(a, tmp, start, mid + 1, end);
+    }
+
+    /**
+     * 二路归并，tmp 从下标0开始使用
      */
-    private static void merge(Comparable[] a, int first, int second, int end) {
-        Comparable[] tmp = new Comparable[end - first + 1];
+    private static void merge(int[] a, int[] tmp, int first, int second, int end) {
         int i = first, j = second, k = 0;
         while (i < second && j <= end) {  // 两个子序列 均没遍历结束
-            if (a[i].compareTo(a[j]) < 0) {
+            if (a[i] <= a[j]) {
                 tmp[k++] = a[i++];
             } else {
                 tmp[k++] = a[j++];
@@ -52,7 +253,111 @@ public class MergeSort {
         while (j <= end) { // 只有第二个子序列
             tmp[k++] = a[j++];
         }
-        System.arraycopy(tmp, 0, a, first, tmp.length);
+        System.arraycopy(tmp, 0, a, first, k);
+    }
+
+    /**
+     * 归并排序（long[] 版本，不装箱）
+     * 整个排序过程只分配一次临时数组
+     *
+     * @param a     需要排序数组
+     * @param start 开始位置
+     * @param end   结束位置（包含）
+     */
+    public static void mergeSort(long[] a, int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        mergeSort(a, new long[end - start + 1], start, end);
+    }
+
+    private static void mergeSort(long[] a, long[] tmp, int start, int end) {
+        if (end - start < INSERTION_SORT_THRESHOLD) {  // 基本类型不需要稳定，小区间用排序网络
+            SortingNetwork.sort(a, start, end + 1);
+            return;
+        }
+        int mid = (end + start) >>> 1;
+        mergeSort(a, tmp, start, mid);
+        mergeSort(a, tmp, mid + 1, end);
+        if (a[mid] <= a[mid + 1]) {  // 两段已经整体有序
+            return;
+        }
+        merge(a, tmp, start, mid + 1, end);
+    }
+
+    /**
+     * 二路归并，tmp 从下标0开始使用
+     */
+    private static void merge(long[] a, long[] tmp, int first, int second, int end) {
+        int i = first, j = second, k = 0;
+        while (i < second && j <= end) {  // 两个子序列 均没遍历结束
+            if (a[i] <= a[j]) {
+                tmp[k++] = a[i++];
+            } else {
+                tmp[k++] = a[j++];
+            }
+        }
+        while (i < second) {  // 只有第一个子序列
+            tmp[k++] = a[i++];
+        }
+        while (j <= end) { // 只有第二个子序列
+            tmp[k++] = a[j++];
+        }
+        System.arraycopy(tmp, 0, a, first, k);
+    }
+
+    /**
+     * 归并排序（double[] 版本，不装箱）
+     * 整个排序过程只分配一次临时数组；顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a     需要排序数组
+     * @param start 开始位置
+     * @param end   结束位置（包含）
+     */
+    public static void mergeSort(double[] a, int start, int end) {
+        if (start >= end) {
+            return;
+        }
+        int last = SortUtil.moveNaNsToEnd(a, start, end + 1) - 1;
+        if (start < last) {
+            mergeSort(a, new double[last - start + 1], start, last);
+            SortUtil.sortZeros(a, start, last + 1);
+        }
+    }
+
+    private static void mergeSort(double[] a, double[] tmp, int start, int end) {
+        if (end - start < INSERTION_SORT_THRESHOLD) {  // 基本类型不需要稳定，小区间用排序网络
+            SortingNetwork.sort(a, start, end + 1);
+            return;
+        }
+        int mid = (end + start) >>> 1;
+        mergeSort(a, tmp, start, mid);
+        mergeSort(a, tmp, mid + 1, end);
+        if (a[mid] <= a[mid + 1]) {  // 两段已经整体有序
+            return;
+        }
+        merge(a, tmp, start, mid + 1, end);
+    }
+
+    /**
+     * 二路归并，tmp 从下标0开始使用
+     */
+    private static void merge(double[] a, double[] tmp, int first, int second, int end) {
+        int i = first, j = second, k = 0;
+        while (i < second && j <= end) {  // 两个子序列 均没遍历结束
+            if (a[i] <= a[j]) {
+                tmp[k++] = a[i++];
+            } else {
+                tmp[k++] = a[j++];
+            }
+        }
+        while (i < second) {  // 只有第一个子序列
+            tmp[k++] = a[i++];
+        }
+        while (j <= end) { // 只有第二个子序列
+            tmp[k++] = a[j++];
+        }
+        System.arraycopy(tmp, 0, a, first, k);
     }
 
     public static void main(String[] args) {
@@ -70,5 +375,15 @@ public class MergeSort {
         System.out.println("耗时：" + (end - start) + "毫秒");
         System.out.println(StringUtils.join(a, ','));
         System.out.println(SortUtil.isMonotoneInc(a));
+
+        Integer[] b = new Integer[length * 1000];
+        for (int i = 0; i < b.length; i++) {
+            b[i] = new Random().nextInt(10000);
+        }
+        start = System.currentTimeMillis();
+        parallelMergeSort(b);
+        end = System.currentTimeMillis();
+        System.out.println("并行归并 " + b.length + " 个元素耗时：" + (end - start) + "毫秒");
+        System.out.println(SortUtil.isMonotoneInc(b));
     }
 }
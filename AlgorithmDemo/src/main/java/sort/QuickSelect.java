@@ -0,0 +1,323 @@
+package sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * 快速选择（Quick Select），在无序数组中找第k小的元素，以及只排出最小的k个元素的部分排序。
+ * <p>
+ * 与快速排序共用 {@link QuickSort#partition} 的一趟划分，但每趟只进入包含第k个位置的那一段：
+ * (1) k 落在 [left, lt-1] 或 [gt+1, right] 时只继续处理这一段；
+ * (2) k 恰好是基准位置，或落在全部相等的中间段时直接结束；
+ * (3) 循环次数超过 2*log2(n) 时对剩余区间改用堆排序（introselect），最坏时间O(N*logN)；
+ * (4) 小区间改用插入排序。
+ * <p>
+ * select 结束后 a[k] 即为第k小的元素，其左边都不大于它，右边都不小于它。
+ * partialSort 先 select 出第k小的元素，再只对左边的k个元素排序。
+ * <p>
+ * 快速选择是不稳定的算法
+ * 快速选择的平均时间复杂度是O(N)
+ * 部分排序的时间复杂度是O(N + k*logk)
+ * 快速选择的空间复杂度是O(1)
+ */
+public class QuickSelect {
+
+    /**
+     * 选出第k小的元素（k从0开始）
+     *
+     * @param a 数组
+     * @param k 位置
+     * @return 第k小的元素
+     */
+    public static Comparable select(Comparable[] a, int k) {
+        return select(a, 0, a.length, k, SortUtil.naturalOrder());
+    }
+
+    /**
+     * 在 [from, to) 区间内选出排序后应位于 k 的元素，并把它放到 a[k]
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param k    位置，from <= k < to
+     * @param c    比较器
+     * @return a[k]
+     */
+    public static <T> T select(T[] a, int from, int to, int k, Comparator<? super T> c) {
+        checkIndex(a.length, from, to, k);
+        introSelect(a, from, to - 1, k, 2 * QuickSort.log2(to - from), c);
+        return a[k];
+    }
+
+    /**
+     * 把最小的k个元素按升序排到数组开头，其余元素顺序不定
+     *
+     * @param a 数组
+     * @param k 元素个数
+     */
+    public static void partialSort(Comparable[] a, int k) {
+        partialSort(a, 0, a.length, k, SortUtil.naturalOrder());
+    }
+
+    /**
+     * 把 [from, to) 区间内最小的k个元素按升序排到 [from, from+k)
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param k    元素个数，0 <= k <= to - from
+     * @param c    比较器
+     */
+    public static <T> void partialSort(T[] a, int from, int to, int k, Comparator<? super T> c) {
+        checkCount(a.length, from, to, k);
+        if (k == 0) {
+            return;
+        }
+        if (k < to - from) {
+            introSelect(a, from, to - 1, from + k - 1, 2 * QuickSort.log2(to - from), c);
+        }
+        QuickSort.introSort(a, from, from + k, c);
+    }
+
+    private static <T> void introSelect(T[] a, int left, int right, int k, int depth, Comparator<? super T> c) {
+        while (right - left + 1 > QuickSort.INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {  // 划分次数过多，剩余区间改用堆排序
+                HeapSort.heapSort(a, left, right + 1, c);
+                return;
+            }
+            long bounds = QuickSort.partition(a, left, right, c);
+            int lt = QuickSort.lower(bounds), gt = QuickSort.upper(bounds);
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else if (k == lt || k == gt || c.compare(a[lt], a[gt]) == 0) {
+                return;
+            } else {
+                left = lt + 1;
+                right = gt - 1;
+            }
+        }
+        InsertSort.insertSort(a, left, right + 1, c);
+    }
+
+    /**
+     * 在 [from, to) 区间内选出排序后应位于 k 的元素（int[] 版本，不装箱）
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param k    位置，from <= k < to
+     * @return a[k]
+     */
+    public static int select(int[] a, int from, int to, int k) {
+        checkIndex(a.length, from, to, k);
+        introSelect(a, from, to - 1, k, 2 * QuickSort.log2(to - from));
+        return a[k];
+    }
+
+    /**
+     * 把 [from, to) 区间内最小的k个元素按升序排到 [from, from+k)（int[] 版本，不装箱）
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param k    元素个数，0 <= k <= to - from
+     */
+    public static void partialSort(int[] a, int from, int to, int k) {
+        checkCount(a.length, from, to, k);
+        if (k == 0) {
+            return;
+        }
+        if (k < to - from) {
+            introSelect(a, from, to - 1, from + k - 1, 2 * QuickSort.log2(to - from));
+        }
+        QuickSort.introSort(a, from, from + k - 1);
+    }
+
+    private static void introSelect(int[] a, int left, int right, int k, int depth) {
+        while (right - left + 1 > QuickSort.INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {  // 划分次数过多，剩余区间改用堆排序
+                HeapSort.heapSort(a, left, right + 1);
+                return;
+            }
+            long bounds = QuickSort.partition(a, left, right);
+            int lt = QuickSort.lower(bounds), gt = QuickSort.upper(bounds);
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else if (k == lt || k == gt || a[lt] == a[gt]) {
+                return;
+            } else {
+                left = lt + 1;
+                right = gt - 1;
+            }
+        }
+        InsertSort.insertSort(a, left, right);
+    }
+
+    /**
+     * 在 [from, to) 区间内选出排序后应位于 k 的元素（long[] 版本，不装箱）
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param k    位置，from <= k < to
+     * @return a[k]
+     */
+    public static long select(long[] a, int from, int to, int k) {
+        checkIndex(a.length, from, to, k);
+        introSelect(a, from, to - 1, k, 2 * QuickSort.log2(to - from));
+        return a[k];
+    }
+
+    /**
+     * 把 [from, to) 区间内最小的k个元素按升序排到 [from, from+k)（long[] 版本，不装箱）
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param k    元素个数，0 <= k <= to - from
+     */
+    public static void partialSort(long[] a, int from, int to, int k) {
+        checkCount(a.length, from, to, k);
+        if (k == 0) {
+            return;
+        }
+        if (k < to - from) {
+            introSelect(a, from, to - 1, from + k - 1, 2 * QuickSort.log2(to - from));
+        }
+        QuickSort.introSort(a, from, from + k - 1);
+    }
+
+    private static void introSelect(long[] a, int left, int right, int k, int depth) {
+        while (right - left + 1 > QuickSort.INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {  // 划分次数过多，剩余区间改用堆排序
+                HeapSort.heapSort(a, left, right + 1);
+                return;
+            }
+            long bounds = QuickSort.partition(a, left, right);
+            int lt = QuickSort.lower(bounds), gt = QuickSort.upper(bounds);
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else if (k == lt || k == gt || a[lt] == a[gt]) {
+                return;
+            } else {
+                left = lt + 1;
+                right = gt - 1;
+            }
+        }
+        InsertSort.insertSort(a, left, right);
+    }
+
+    /**
+     * 在 [from, to) 区间内选出排序后应位于 k 的元素（double[] 版本，不装箱）
+     * 顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param k    位置，from <= k < to
+     * @return a[k]
+     */
+    public static double select(double[] a, int from, int to, int k) {
+        checkIndex(a.length, from, to, k);
+        int end = SortUtil.moveNaNsToEnd(a, from, to);
+        if (k < end) {  // 否则 a[k] 是 NaN
+            introSelect(a, from, end - 1, k, 2 * QuickSort.log2(end - from));
+            SortUtil.sortZeros(a, from, end);
+        }
+        return a[k];
+    }
+
+    /**
+     * 把 [from, to) 区间内最小的k个元素按升序排到 [from, from+k)（double[] 版本，不装箱）
+     * 顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param k    元素个数，0 <= k <= to - from
+     */
+    public static void partialSort(double[] a, int from, int to, int k) {
+        checkCount(a.length, from, to, k);
+        int end = SortUtil.moveNaNsToEnd(a, from, to);
+        k = Math.min(k, end - from);  // 不是 NaN 的元素不足k个时，其余位置都是 NaN
+        if (k == 0) {
+            return;
+        }
+        if (k < end - from) {
+            introSelect(a, from, end - 1, from + k - 1, 2 * QuickSort.log2(end - from));
+        }
+        QuickSort.introSort(a, from, from + k - 1);
+        SortUtil.sortZeros(a, from, end);
+    }
+
+    private static void introSelect(double[] a, int left, int right, int k, int depth) {
+        while (right - left + 1 > QuickSort.INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {  // 划分次数过多，剩余区间改用堆排序
+                HeapSort.heapSort(a, left, right + 1);
+                return;
+            }
+            long bounds = QuickSort.partition(a, left, right);
+            int lt = QuickSort.lower(bounds), gt = QuickSort.upper(bounds);
+            if (k < lt) {
+                right = lt - 1;
+            } else if (k > gt) {
+                left = gt + 1;
+            } else if (k == lt || k == gt || a[lt] == a[gt]) {
+                return;
+            } else {
+                left = lt + 1;
+                right = gt - 1;
+            }
+        }
+        InsertSort.insertSort(a, left, right);
+    }
+
+    private static void checkIndex(int length, int from, int to, int k) {
+        SortUtil.rangeCheck(length, from, to);
+        if (k < from || k >= to) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+    }
+
+    private static void checkCount(int length, int from, int to, int k) {
+        SortUtil.rangeCheck(length, from, to);
+        if (k < 0 || k > to - from) {
+            throw new IllegalArgumentException("k(" + k + ") out of range [0, " + (to - from) + "]");
+        }
+    }
+
+    public static void main(String[] args) {
+        int length = 1000000;
+        int k = 100;
+        Random random = new Random();
+        int[] a = new int[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = random.nextInt(length);
+        }
+        int[] b = a.clone();
+
+        long start = System.currentTimeMillis();
+        int median = select(a, 0, length, length / 2);
+        long end = System.currentTimeMillis();
+        System.out.println("中位数：" + median + "，耗时：" + (end - start) + "毫秒");
+
+        start = System.currentTimeMillis();
+        partialSort(a, 0, length, k);
+        end = System.currentTimeMillis();
+        System.out.println("最小的" + k + "个元素部分排序耗时：" + (end - start) + "毫秒");
+
+        start = System.currentTimeMillis();
+        Arrays.sort(b);
+        end = System.currentTimeMillis();
+        System.out.println("全排序耗时：" + (end - start) + "毫秒");
+        System.out.println(median == b[length / 2]
+                && Arrays.equals(Arrays.copyOf(a, k), Arrays.copyOf(b, k)));
+    }
+}
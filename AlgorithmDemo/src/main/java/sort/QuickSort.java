@@ -2,6 +2,7 @@ package sort;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Comparator;
 import java.util.Random;
 
 import static sort.SortUtil.swap;
@@ -19,9 +20,25 @@ import static sort.SortUtil.swap;
  * 快速排序的最差时间分析是O(N2)
  * 快速排序的时间复杂度是O(n*log2n)
  * 快速排序的空间复杂度是O(logN~N)
+ * <p>
+ * introSort 是用于生产环境的版本（内省排序）：
+ * (1) 从区间中均匀取5个样本排序，取第2、4个作为两个基准（大区间先对每个样本取三数中值，即ninther）；
+ * (2) 双基准划分为 小于p1、介于p1与p2之间、大于p2 三段，两基准相等时改用三向划分，重复值多时不会退化；
+ * (3) 递归深度超过 2*log2(n) 时改用堆排序，保证最坏时间O(N*logN)，栈深度O(logN)；
+ * (4) 小区间改用插入排序，基本类型版本改用 {@link SortingNetwork}。
  */
 public class QuickSort {
 
+    /**
+     * 区间长度小于该值时使用插入排序
+     */
+    static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * 区间长度大于该值时，每个样本先取三数中值（ninther）
+     */
+    private static final int NINTHER_THRESHOLD = 1 << 10;
+
 
     /**
      * 快速排序
@@ -30,14 +47,33 @@ public class QuickSort {
      * @param left  数组左边界
      * @param right 数组右边界
      */
-    private static void quickSort(Comparable[] a, int left, int right) {
+    public static void quickSort(Comparable[] a, int left, int right) {
+        if (left < right) {
+            sort(a, left, right, SortUtil.naturalOrder());
+        }
+    }
+
+    /**
+     * 对 [from, to) 区间快速排序（基础版本，已排序输入会退化为O(N2)）
+     *
+     * @param a    需要排序数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void quickSort(T[] a, int from, int to, Comparator<? super T> c) {
+        SortUtil.rangeCheck(a.length, from, to);
+        sort(a, from, to - 1, c);
+    }
+
+    private static <T> void sort(T[] a, int left, int right, Comparator<? super T> c) {
         if (left < right) {  // 有未排序好部分
             int baseIndex = left;
-            Comparable baseNum = a[left];  // 基数
+            T baseNum = a[left];  // 基数
             int start = left;
             int end = right;
             while (left < right) {
-                while (left < right && a[right].compareTo(baseNum) > 0) {
+                while (left < right && c.compare(a[right], baseNum) > 0) {
                     --right;
                 }
                 if (left < right) {
@@ -45,7 +81,42 @@ public class QuickSort {
                     baseIndex = right;
                 }
 
-                while (left < right && a[left].compareTo(baseNum) <= 0) {
+                while (left < right && c.compare(a[left], baseNum) <= 0) {
+                    ++left;
+                }
+                if (left < right) {
+                    swap(a, baseIndex, left);
+                    baseIndex = left;
+                }
+            }
+            sort(a, start, baseIndex - 1, c);
+            sort(a, baseIndex + 1, end, c);
+        }
+    }
+
+    /**
+     * 快速排序（int[] 版本，不装箱）
+     *
+     * @param a     需要排序数组
+     * @param left  数组左边界
+     * @param right 数组右边界
+     */
+    public static void quickSort(int[] a, int left, int right) {
+        if (left < right) {  // 有未排序好部分
+            int baseIndex = left;
+            int baseNum = a[left];  // 基数
+            int start = left;
+            int end = right;
+            while (left < right) {
+                while (left < right && a[right] > baseNum) {
+                    --right;
+                }
+                if (left < right) {
+                    swap(a, baseIndex, right);
+                    baseIndex = right;
+                }
+
+                while (left < right && a[left] <= baseNum) {
                     ++left;
                 }
                 if (left < right) {
@@ -58,6 +129,609 @@ public class QuickSort {
         }
     }
 
+    /**
+     * 快速排序（long[] 版本，不装箱）
+     *
+     * @param a     需要排序数组
+     * @param left  数组左边界
+     * @param right 数组右边界
+     */
+    public static void quickSort(long[] a, int left, int right) {
+        if (left < right) {  // 有未排序好部分
+            int baseIndex = left;
+            long baseNum = a[left];  // 基数
+            int start = left;
+            int end = right;
+            while (left < right) {
+                while (left < right && a[right] > baseNum) {
+                    --right;
+                }
+                if (left < right) {
+                    swap(a, baseIndex, right);
+                    baseIndex = right;
+                }
+
+                while (left < right && a[left] <= baseNum) {
+                    ++left;
+                }
+                if (left < right) {
+                    swap(a, baseIndex, left);
+                    baseIndex = left;
+                }
+            }
+            quickSort(a, start, baseIndex - 1);
+            quickSort(a, baseIndex + 1, end);
+        }
+    }
+
+    /**
+     * 快速排序（double[] 版本，不装箱）
+     * 顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a     需要排序数组
+     * @param left  数组左边界
+     * @param right 数组右边界
+     */
+    public static void quickSort(double[] a, int left, int right) {
+        if (left < right) {
+            int end = SortUtil.moveNaNsToEnd(a, left, right + 1);
+            quickSortNonNaN(a, left, end - 1);
+            SortUtil.sortZeros(a, left, end);
+        }
+    }
+
+    // [left, right] 中没有 NaN
+    private static void quickSortNonNaN(double[] a, int left, int right) {
+        if (left < right) {  // 有未排序好部分
+            int baseIndex = left;
+            double baseNum = a[left];  // 基数
+            int start = left;
+            int end = right;
+            while (left < right) {
+                while (left < right && a[right] > baseNum) {
+                    --right;
+                }
+                if (left < right) {
+                    swap(a, baseIndex, right);
+                    baseIndex = right;
+                }
+
+                while (left < right && a[left] <= baseNum) {
+                    ++left;
+                }
+                if (left < right) {
+                    swap(a, baseIndex, left);
+                    baseIndex = left;
+                }
+            }
+            quickSortNonNaN(a, start, baseIndex - 1);
+            quickSortNonNaN(a, baseIndex + 1, end);
+        }
+    }
+
+    /**
+     * 内省排序
+     *
+     * @param a     需要排序数组
+     * @param left  数组左边界
+     * @param right 数组右边界
+     */
+    public static void introSort(Comparable[] a, int left, int right) {
+        if (left < right) {
+            introSort(a, left, right, 2 * log2(right - left + 1), SortUtil.naturalOrder());
+        }
+    }
+
+    /**
+     * 对 [from, to) 区间内省排序
+     *
+     * @param a    需要排序数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void introSort(T[] a, int from, int to, Comparator<? super T> c) {
+        SortUtil.rangeCheck(a.length, from, to);
+        if (to - from > 1) {
+            introSort(a, from, to - 1, 2 * log2(to - from), c);
+        }
+    }
+
+    private static <T> void introSort(T[] a, int left, int right, int depth, Comparator<? super T> c) {
+        while (right - left + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {  // 递归过深，改用堆排序
+                HeapSort.heapSort(a, left, right + 1, c);
+                return;
+            }
+            long bounds = partition(a, left, right, c);
+            int lt = lower(bounds), gt = upper(bounds);
+            introSort(a, left, lt - 1, depth, c);
+            if (c.compare(a[lt], a[gt]) != 0) {  // 中间段全部相等时已排好
+                introSort(a, lt + 1, gt - 1, depth, c);
+            }
+            left = gt + 1;
+        }
+        InsertSort.insertSort(a, left, right + 1, c);
+    }
+
+    /**
+     * 对 [left, right] 做一趟划分，区间长度必须大于 INSERTION_SORT_THRESHOLD。
+     * <p>
+     * 划分后 [left, lt-1] 都小于 a[lt]，[gt+1, right] 都大于 a[gt]，a[lt]、a[gt] 已在最终位置：
+     * 双基准划分时 [lt+1, gt-1] 介于两个基准之间；三向划分时 a[lt] 等于 a[gt]，[lt, gt] 全部相等。
+     * 内省排序和 {@link QuickSelect} 共用这一趟划分
+     *
+     * @return 打包的 lt、gt，见 {@link #lower(long)}、{@link #upper(long)}
+     */
+    static <T> long partition(T[] a, int left, int right, Comparator<? super T> c) {
+        int e3 = (left + right) >>> 1;
+        choosePivots(a, left, right, e3, c);
+
+        if (c.compare(a[left], a[right]) == 0) {  // 两个基准相等，三向划分
+            T p = a[e3];
+            int lt = left, gt = right, k = left;
+            while (k <= gt) {
+                int cmp = c.compare(a[k], p);
+                if (cmp < 0) {
+                    swap(a, lt++, k++);
+                } else if (cmp > 0) {
+                    swap(a, k, gt--);
+                } else {
+                    k++;
+                }
+            }
+            // [left, lt-1] < p, [lt, gt] == p, [gt+1, right] > p
+            return bounds(lt, gt);
+        }
+
+        // 双基准划分
+        T p1 = a[left];
+        T p2 = a[right];
+        int lt = left + 1, gt = right - 1, k = lt;
+        while (k <= gt) {
+            if (c.compare(a[k], p1) < 0) {
+                swap(a, k, lt++);
+            } else if (c.compare(a[k], p2) > 0) {
+                while (k < gt && c.compare(a[gt], p2) > 0) {
+                    gt--;
+                }
+                swap(a, k, gt--);
+                if (c.compare(a[k], p1) < 0) {
+                    swap(a, k, lt++);
+                }
+            }
+            k++;
+        }
+        swap(a, left, --lt);
+        swap(a, right, ++gt);
+        // [left, lt-1] < p1, [lt+1, gt-1] 介于p1与p2之间, [gt+1, right] > p2
+        return bounds(lt, gt);
+    }
+
+    /**
+     * 以 mid 为中心均匀取5个样本并排好序，
+     * 再把第2、4个样本分别交换到 left、right 作为两个基准
+     */
+    private static <T> void choosePivots(T[] a, int left, int right, int mid, Comparator<? super T> c) {
+        int n = right - left + 1;
+        int seventh = (n >> 3) + (n >> 6) + 1;
+        int e2 = mid - seventh, e1 = e2 - seventh;
+        int e4 = mid + seventh, e5 = e4 + seventh;
+        if (n > NINTHER_THRESHOLD) {
+            int d = seventh >> 2;
+            medianOfThree(a, e1 - d, e1, e1 + d, c);
+            medianOfThree(a, e2 - d, e2, e2 + d, c);
+            medianOfThree(a, mid - d, mid, mid + d, c);
+            medianOfThree(a, e4 - d, e4, e4 + d, c);
+            medianOfThree(a, e5 - d, e5, e5 + d, c);
+        }
+        // 5个元素的最优排序网络
+        sort2(a, e1, e2, c);
+        sort2(a, e4, e5, c);
+        sort2(a, mid, e5, c);
+        sort2(a, mid, e4, c);
+        sort2(a, e1, e4, c);
+        sort2(a, e1, mid, c);
+        sort2(a, e2, e5, c);
+        sort2(a, e2, e4, c);
+        sort2(a, e2, mid, c);
+        swap(a, left, e2);
+        swap(a, right, e4);
+    }
+
+    /**
+     * 把 i、j、k 三个位置的中值放到 j
+     */
+    private static <T> void medianOfThree(T[] a, int i, int j, int k, Comparator<? super T> c) {
+        sort2(a, i, j, c);
+        sort2(a, j, k, c);
+        sort2(a, i, j, c);
+    }
+
+    private static <T> void sort2(T[] a, int i, int j, Comparator<? super T> c) {
+        if (c.compare(a[i], a[j]) > 0) {
+            swap(a, i, j);
+        }
+    }
+
+    /**
+     * 内省排序（int[] 版本，不装箱）
+     *
+     * @param a     需要排序数组
+     * @param left  数组左边界
+     * @param right 数组右边界
+     */
+    public static void introSort(int[] a, int left, int right) {
+        if (left < right) {
+            introSort(a, left, right, 2 * log2(right - left + 1));
+        }
+    }
+
+    private static void introSort(int[] a, int left, int right, int depth) {
+        while (right - left + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {  // 递归过深，改用堆排序
+                HeapSort.heapSort(a, left, right + 1);
+                return;
+            }
+            long bounds = partition(a, left, right);
+            int lt = lower(bounds), gt = upper(bounds);
+            introSort(a, left, lt - 1, depth);
+            if (a[lt] != a[gt]) {  // 中间段全部相等时已排好
+                introSort(a, lt + 1, gt - 1, depth);
+            }
+            left = gt + 1;
+        }
+        SortingNetwork.sort(a, left, right + 1);
+    }
+
+    /**
+     * 对 [left, right] 做一趟划分，区间长度必须大于 INSERTION_SORT_THRESHOLD
+     *
+     * @return 打包的 lt、gt，见 {@link #lower(long)}、{@link #upper(long)}
+     */
+    static long partition(int[] a, int left, int right) {
+        int e3 = (left + right) >>> 1;
+        choosePivots(a, left, right, e3);
+
+        if (a[left] == a[right]) {  // 两个基准相等，三向划分
+            int p = a[e3];
+            int lt = left, gt = right, k = left;
+            while (k <= gt) {
+                if (a[k] < p) {
+                    swap(a, lt++, k++);
+                } else if (a[k] > p) {
+                    swap(a, k, gt--);
+                } else {
+                    k++;
+                }
+            }
+            // [left, lt-1] < p, [lt, gt] == p, [gt+1, right] > p
+            return bounds(lt, gt);
+        }
+
+        // 双基准划分
+        int p1 = a[left];
+        int p2 = a[right];
+        int lt = left + 1, gt = right - 1, k = lt;
+        while (k <= gt) {
+            if (a[k] < p1) {
+                swap(a, k, lt++);
+            } else if (a[k] > p2) {
+                while (k < gt && a[gt] > p2) {
+                    gt--;
+                }
+                swap(a, k, gt--);
+                if (a[k] < p1) {
+                    swap(a, k, lt++);
+                }
+            }
+            k++;
+        }
+        swap(a, left, --lt);
+        swap(a, right, ++gt);
+        // [left, lt-1] < p1, [lt+1, gt-1] 介于p1与p2之间, [gt+1, right] > p2
+        return bounds(lt, gt);
+    }
+
+    private static void choosePivots(int[] a, int left, int right, int mid) {
+        int n = right - left + 1;
+        int seventh = (n >> 3) + (n >> 6) + 1;
+        int e2 = mid - seventh, e1 = e2 - seventh;
+        int e4 = mid + seventh, e5 = e4 + seventh;
+        if (n > NINTHER_THRESHOLD) {
+            int d = seventh >> 2;
+            medianOfThree(a, e1 - d, e1, e1 + d);
+            medianOfThree(a, e2 - d, e2, e2 + d);
+            medianOfThree(a, mid - d, mid, mid + d);
+            medianOfThree(a, e4 - d, e4, e4 + d);
+            medianOfThree(a, e5 - d, e5, e5 + d);
+        }
+        sort2(a, e1, e2);
+        sort2(a, e4, e5);
+        sort2(a, mid, e5);
+        sort2(a, mid, e4);
+        sort2(a, e1, e4);
+        sort2(a, e1, mid);
+        sort2(a, e2, e5);
+        sort2(a, e2, e4);
+        sort2(a, e2, mid);
+        swap(a, left, e2);
+        swap(a, right, e4);
+    }
+
+    private static void medianOfThree(int[] a, int i, int j, int k) {
+        sort2(a, i, j);
+        sort2(a, j, k);
+        sort2(a, i, j);
+    }
+
+    private static void sort2(int[] a, int i, int j) {
+        if (a[i] > a[j]) {
+            swap(a, i, j);
+        }
+    }
+
+    /**
+     * 内省排序（long[] 版本，不装箱）
+     *
+     * @param a     需要排序数组
+     * @param left  数组左边界
+     * @param right 数组右边界
+     */
+    public static void introSort(long[] a, int left, int right) {
+        if (left < right) {
+            introSort(a, left, right, 2 * log2(right - left + 1));
+        }
+    }
+
+    private static void introSort(long[] a, int left, int right, int depth) {
+        while (right - left + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {  // 递归过深，改用堆排序
+                HeapSort.heapSort(a, left, right + 1);
+                return;
+            }
+            long bounds = partition(a, left, right);
+            int lt = lower(bounds), gt = upper(bounds);
+            introSort(a, left, lt - 1, depth);
+            if (a[lt] != a[gt]) {  // 中间段全部相等时已排好
+                introSort(a, lt + 1, gt - 1, depth);
+            }
+            left = gt + 1;
+        }
+        SortingNetwork.sort(a, left, right + 1);
+    }
+
+    /**
+     * 对 [left, right] 做一趟划分，区间长度必须大于 INSERTION_SORT_THRESHOLD
+     *
+     * @return 打包的 lt、gt，见 {@link #lower(long)}、{@link #upper(long)}
+     */
+    static long partition(long[] a, int left, int right) {
+        int e3 = (left + right) >>> 1;
+        choosePivots(a, left, right, e3);
+
+        if (a[left] == a[right]) {  // 两个基准相等，三向划分
+            long p = a[e3];
+            int lt = left, gt = right, k = left;
+            while (k <= gt) {
+                if (a[k] < p) {
+                    swap(a, lt++, k++);
+                } else if (a[k] > p) {
+                    swap(a, k, gt--);
+                } else {
+                    k++;
+                }
+            }
+            // [left, lt-1] < p, [lt, gt] == p, [gt+1, right] > p
+            return bounds(lt, gt);
+        }
+
+        // 双基准划分
+        long p1 = a[left];
+        long p2 = a[right];
+        int lt = left + 1, gt = right - 1, k = lt;
+        while (k <= gt) {
+            if (a[k] < p1) {
+                swap(a, k, lt++);
+            } else if (a[k] > p2) {
+                while (k < gt && a[gt] > p2) {
+                    gt--;
+                }
+                swap(a, k, gt--);
+                if (a[k] < p1) {
+                    swap(a, k, lt++);
+                }
+            }
+            k++;
+        }
+        swap(a, left, --lt);
+        swap(a, right, ++gt);
+        // [left, lt-1] < p1, [lt+1, gt-1] 介于p1与p2之间, [gt+1, right] > p2
+        return bounds(lt, gt);
+    }
+
+    private static void choosePivots(long[] a, int left, int right, int mid) {
+        int n = right - left + 1;
+        int seventh = (n >> 3) + (n >> 6) + 1;
+        int e2 = mid - seventh, e1 = e2 - seventh;
+        int e4 = mid + seventh, e5 = e4 + seventh;
+        if (n > NINTHER_THRESHOLD) {
+            int d = seventh >> 2;
+            medianOfThree(a, e1 - d, e1, e1 + d);
+            medianOfThree(a, e2 - d, e2, e2 + d);
+            medianOfThree(a, mid - d, mid, mid + d);
+            medianOfThree(a, e4 - d, e4, e4 + d);
+            medianOfThree(a, e5 - d, e5, e5 + d);
+        }
+        sort2(a, e1, e2);
+        sort2(a, e4, e5);
+        sort2(a, mid, e5);
+        sort2(a, mid, e4);
+        sort2(a, e1, e4);
+        sort2(a, e1, mid);
+        sort2(a, e2, e5);
+        sort2(a, e2, e4);
+        sort2(a, e2, mid);
+        swap(a, left, e2);
+        swap(a, right, e4);
+    }
+
+    private static void medianOfThree(long[] a, int i, int j, int k) {
+        sort2(a, i, j);
+        sort2(a, j, k);
+        sort2(a, i, j);
+    }
+
+    private static void sort2(long[] a, int i, int j) {
+        if (a[i] > a[j]) {
+            swap(a, i, j);
+        }
+    }
+
+    /**
+     * 内省排序（double[] 版本，不装箱）
+     * 顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a     需要排序数组
+     * @param left  数组左边界
+     * @param right 数组右边界
+     */
+    public static void introSort(double[] a, int left, int right) {
+        if (left < right) {
+            int end = SortUtil.moveNaNsToEnd(a, left, right + 1);
+            if (left < end - 1) {
+                introSort(a, left, end - 1, 2 * log2(end - left));
+                SortUtil.sortZeros(a, left, end);
+            }
+        }
+    }
+
+    private static void introSort(double[] a, int left, int right, int depth) {
+        while (right - left + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {  // 递归过深，改用堆排序
+                HeapSort.heapSort(a, left, right + 1);
+                return;
+            }
+            long bounds = partition(a, left, right);
+            int lt = lower(bounds), gt = upper(bounds);
+            introSort(a, left, lt - 1, depth);
+            if (a[lt] != a[gt]) {  // 中间段全部相等时已排好
+                introSort(a, lt + 1, gt - 1, depth);
+            }
+            left = gt + 1;
+        }
+        SortingNetwork.sort(a, left, right + 1);
+    }
+
+    /**
+     * 对 [left, right] 做一趟划分，区间长度必须大于 INSERTION_SORT_THRESHOLD
+     *
+     * @return 打包的 lt、gt，见 {@link #lower(long)}、{@link #upper(long)}
+     */
+    static long partition(double[] a, int left, int right) {
+        int e3 = (left + right) >>> 1;
+        choosePivots(a, left, right, e3);
+
+        if (a[left] == a[right]) {  // 两个基准相等，三向划分
+            double p = a[e3];
+            int lt = left, gt = right, k = left;
+            while (k <= gt) {
+                if (a[k] < p) {
+                    swap(a, lt++, k++);
+                } else if (a[k] > p) {
+                    swap(a, k, gt--);
+                } else {
+                    k++;
+                }
+            }
+            // [left, lt-1] < p, [lt, gt] == p, [gt+1, right] > p
+            return bounds(lt, gt);
+        }
+
+        // 双基准划分
+        double p1 = a[left];
+        double p2 = a[right];
+        int lt = left + 1, gt = right - 1, k = lt;
+        while (k <= gt) {
+            if (a[k] < p1) {
+                swap(a, k, lt++);
+            } else if (a[k] > p2) {
+                while (k < gt && a[gt] > p2) {
+                    gt--;
+                }
+                swap(a, k, gt--);
+                if (a[k] < p1) {
+                    swap(a, k, lt++);
+                }
+            }
+            k++;
+        }
+        swap(a, left, --lt);
+        swap(a, right, ++gt);
+        // [left, lt-1] < p1, [lt+1, gt-1] 介于p1与p2之间, [gt+1, right] > p2
+        return bounds(lt, gt);
+    }
+
+    private static void choosePivots(double[] a, int left, int right, int mid) {
+        int n = right - left + 1;
+        int seventh = (n >> 3) + (n >> 6) + 1;
+        int e2 = mid - seventh, e1 = e2 - seventh;
+        int e4 = mid + seventh, e5 = e4 + seventh;
+        if (n > NINTHER_THRESHOLD) {
+            int d = seventh >> 2;
+            medianOfThree(a, e1 - d, e1, e1 + d);
+            medianOfThree(a, e2 - d, e2, e2 + d);
+            medianOfThree(a, mid - d, mid, mid + d);
+            medianOfThree(a, e4 - d, e4, e4 + d);
+            medianOfThree(a, e5 - d, e5, e5 + d);
+        }
+        sort2(a, e1, e2);
+        sort2(a, e4, e5);
+        sort2(a, mid, e5);
+        sort2(a, mid, e4);
+        sort2(a, e1, e4);
+        sort2(a, e1, mid);
+        sort2(a, e2, e5);
+        sort2(a, e2, e4);
+        sort2(a, e2, mid);
+        swap(a, left, e2);
+        swap(a, right, e4);
+    }
+
+    private static void medianOfThree(double[] a, int i, int j, int k) {
+        sort2(a, i, j);
+        sort2(a, j, k);
+        sort2(a, i, j);
+    }
+
+    private static void sort2(double[] a, int i, int j) {
+        if (a[i] > a[j]) {
+            swap(a, i, j);
+        }
+    }
+
+    /**
+     * 把划分结果 lt、gt 打包成一个 long，避免每趟划分分配数组
+     */
+    private static long bounds(int lt, int gt) {
+        return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+    }
+
+    static int lower(long bounds) {
+        return (int) (bounds >>> 32);
+    }
+
+    static int upper(long bounds) {
+        return (int) bounds;
+    }
+
+    /**
+     * 向下取整的 log2(n)，n > 0
+     */
+    static int log2(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+
     public static void main(String[] args) {
         int length = 1000;
         Integer[] a = new Integer[length];
@@ -73,5 +747,15 @@ public class QuickSort {
         System.out.println("耗时：" + (end - start) + "毫秒");
         System.out.println(StringUtils.join(a, ','));
         System.out.println(SortUtil.isMonotoneInc(a));
+
+        // 已排序输入：基础版本退化为O(N2)且递归深度为N，内省排序不受影响
+        int[] sorted = new int[length * 1000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i;
+        }
+        start = System.currentTimeMillis();
+        introSort(sorted, 0, sorted.length - 1);
+        end = System.currentTimeMillis();
+        System.out.println("内省排序 " + sorted.length + " 个已排序元素耗时：" + (end - start) + "毫秒");
     }
 }
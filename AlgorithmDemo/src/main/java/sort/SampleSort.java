@@ -0,0 +1,482 @@
+package sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * 并行样本排序（Sample Sort），大数组在多核机器上接近线性加速，并且只做一趟数据搬移。
+ * <p>
+ * 并行样本排序流程：
+ * (1) 随机抽取 桶数*OVERSAMPLING 个样本排序，等间隔取出 桶数-1 个分隔元素；
+ * (2) 把输入按线程数切成若干块，各线程并行地为自己块内的每个元素二分查找所属的桶，
+ * 桶号记在一个 byte 数组里，同时统计本块各桶的元素个数；
+ * (3) 对 (桶, 块) 的计数求前缀和，得到每块每个桶在临时数组中的写入位置，
+ * 各线程再并行地把自己块内的元素按记下的桶号写入临时数组，互不冲突；
+ * (4) 各个桶并行地用已有的顺序排序算法排序，再复制回原数组。
+ * <p>
+ * 每个分隔元素另有一个"相等桶"，等于分隔元素的元素都放进去，不需要再排序，
+ * 重复值很多时不会集中到一个桶里。
+ * 分配时保持了元素的先后顺序，桶内用 {@link TimSort} 排序，因此对象数组版本是稳定的；
+ * 基本类型版本桶内使用 {@link QuickSort#introSort}。
+ * <p>
+ * 与并行归并排序相比，每个元素只分配一次、复制一次，没有 log(N) 层的归并。
+ * 并行样本排序的时间复杂度是O(N*logN/P)，空间复杂度是O(N)
+ */
+public class SampleSort {
+
+    /**
+     * 区间长度小于该值或只有一个线程时，直接顺序排序
+     */
+    static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    /**
+     * 每个桶抽取的样本数
+     */
+    private static final int OVERSAMPLING = 16;
+
+    /**
+     * 每个线程分到的桶数，桶多一些各线程的负载更均衡
+     */
+    private static final int BUCKETS_PER_THREAD = 4;
+
+    /**
+     * 最大桶数，加上相等桶后桶号仍能放进一个 byte
+     */
+    private static final int MAX_BUCKETS = 128;
+
+    /**
+     * 并行样本排序，使用公共 ForkJoinPool
+     *
+     * @param a 需要排序的数组
+     */
+    public static void sampleSort(Comparable[] a) {
+        sampleSort(a, 0, a.length, SortUtil.naturalOrder(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 对 [from, to) 区间并行样本排序，使用公共 ForkJoinPool
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void sampleSort(T[] a, int from, int to, Comparator<? super T> c) {
+        sampleSort(a, from, to, c, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 对 [from, to) 区间并行样本排序（稳定）
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     * @param pool 执行排序的线程池，线程数决定分块数和桶数
+     */
+    public static <T> void sampleSort(T[] a, int from, int to, Comparator<? super T> c, ForkJoinPool pool) {
+        SortUtil.rangeCheck(a.length, from, to);
+        int n = to - from;
+        int parallelism = pool.getParallelism();
+        if (n < SEQUENTIAL_THRESHOLD || parallelism == 1) {
+            TimSort.timSort(a, from, to, c);
+            return;
+        }
+        // (1) 抽样，选出分隔元素
+        int splitterCount = bucketCount(parallelism) - 1;
+        T[] sample = SortUtil.newArray(a, (splitterCount + 1) * OVERSAMPLING);
+        Random random = new Random(n);
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = a[from + random.nextInt(n)];
+        }
+        QuickSort.introSort(sample, 0, sample.length, c);
+        T[] splitters = SortUtil.newArray(a, splitterCount);
+        for (int i = 0; i < splitterCount; i++) {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+
+        // (2) 各块并行分类并计数
+        int buckets = 2 * splitterCount + 1;
+        int chunks = parallelism;
+        int chunkSize = (n + chunks - 1) / chunks;
+        byte[] oracle = new byte[n];
+        int[] offsets = new int[chunks * buckets];
+        forEach(pool, chunks, chunk -> {
+            int base = chunk * buckets;
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                int b = classify(a[from + i], splitters, c);
+                oracle[i] = (byte) b;
+                offsets[base + b]++;
+            }
+        });
+
+        // (3) 前缀和得到写入位置，各块并行分配到临时数组
+        int[] starts = prefixSum(offsets, chunks, buckets);
+        T[] tmp = SortUtil.newArray(a, n);
+        forEach(pool, chunks, chunk -> {
+            int base = chunk * buckets;
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                tmp[offsets[base + (oracle[i] & 0xFF)]++] = a[from + i];
+            }
+        });
+
+        // (4) 各桶并行排序后复制回原数组，相等桶不需要排序
+        forEach(pool, buckets, b -> {
+            int lo = starts[b], hi = starts[b + 1];
+            if ((b & 1) == 0) {
+                TimSort.timSort(tmp, lo, hi, c);
+            }
+            System.arraycopy(tmp, lo, a, from + lo, hi - lo);
+        });
+    }
+
+    /**
+     * 计算 x 所属的桶：第一个不小于 x 的分隔元素为 splitters[b] 时，
+     * x 等于它则属于相等桶 2b+1，否则属于桶 2b
+     */
+    private static <T> int classify(T x, T[] splitters, Comparator<? super T> c) {
+        int lo = 0, hi = splitters.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(splitters[mid], x) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo < splitters.length && c.compare(x, splitters[lo]) == 0 ? 2 * lo + 1 : 2 * lo;
+    }
+
+    /**
+     * 并行样本排序（int[] 版本，不装箱），使用公共 ForkJoinPool
+     *
+     * @param a 需要排序的数组
+     */
+    public static void sampleSort(int[] a) {
+        sampleSort(a, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行样本排序（int[] 版本，不装箱）
+     *
+     * @param a    需要排序的数组
+     * @param pool 执行排序的线程池，线程数决定分块数和桶数
+     */
+    public static void sampleSort(int[] a, ForkJoinPool pool) {
+        int n = a.length;
+        int parallelism = pool.getParallelism();
+        if (n < SEQUENTIAL_THRESHOLD || parallelism == 1) {
+            QuickSort.introSort(a, 0, n - 1);
+            return;
+        }
+        int splitterCount = bucketCount(parallelism) - 1;
+        int[] sample = new int[(splitterCount + 1) * OVERSAMPLING];
+        Random random = new Random(n);
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = a[random.nextInt(n)];
+        }
+        QuickSort.introSort(sample, 0, sample.length - 1);
+        int[] splitters = new int[splitterCount];
+        for (int i = 0; i < splitterCount; i++) {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+
+        int buckets = 2 * splitterCount + 1;
+        int chunks = parallelism;
+        int chunkSize = (n + chunks - 1) / chunks;
+        byte[] oracle = new byte[n];
+        int[] offsets = new int[chunks * buckets];
+        forEach(pool, chunks, chunk -> {
+            int base = chunk * buckets;
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                int b = classify(a[i], splitters);
+                oracle[i] = (byte) b;
+                offsets[base + b]++;
+            }
+        });
+
+        int[] starts = prefixSum(offsets, chunks, buckets);
+        int[] tmp = new int[n];
+        forEach(pool, chunks, chunk -> {
+            int base = chunk * buckets;
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                tmp[offsets[base + (oracle[i] & 0xFF)]++] = a[i];
+            }
+        });
+
+        forEach(pool, buckets, b -> {
+            int lo = starts[b], hi = starts[b + 1];
+            if ((b & 1) == 0) {
+                QuickSort.introSort(tmp, lo, hi - 1);
+            }
+            System.arraycopy(tmp, lo, a, lo, hi - lo);
+        });
+    }
+
+    private static int classify(int x, int[] splitters) {
+        int lo = 0, hi = splitters.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (splitters[mid] < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo < splitters.length && x == splitters[lo] ? 2 * lo + 1 : 2 * lo;
+    }
+
+    /**
+     * 并行样本排序（long[] 版本，不装箱），使用公共 ForkJoinPool
+     *
+     * @param a 需要排序的数组
+     */
+    public static void sampleSort(long[] a) {
+        sampleSort(a, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行样本排序（long[] 版本，不装箱）
+     *
+     * @param a    需要排序的数组
+     * @param pool 执行排序的线程池，线程数决定分块数和桶数
+     */
+    public static void sampleSort(long[] a, ForkJoinPool pool) {
+        int n = a.length;
+        int parallelism = pool.getParallelism();
+        if (n < SEQUENTIAL_THRESHOLD || parallelism == 1) {
+            QuickSort.introSort(a, 0, n - 1);
+            return;
+        }
+        int splitterCount = bucketCount(parallelism) - 1;
+        long[] sample = new long[(splitterCount + 1) * OVERSAMPLING];
+        Random random = new Random(n);
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = a[random.nextInt(n)];
+        }
+        QuickSort.introSort(sample, 0, sample.length - 1);
+        long[] splitters = new long[splitterCount];
+        for (int i = 0; i < splitterCount; i++) {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+
+        int buckets = 2 * splitterCount + 1;
+        int chunks = parallelism;
+        int chunkSize = (n + chunks - 1) / chunks;
+        byte[] oracle = new byte[n];
+        int[] offsets = new int[chunks * buckets];
+        forEach(pool, chunks, chunk -> {
+            int base = chunk * buckets;
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                int b = classify(a[i], splitters);
+                oracle[i] = (byte) b;
+                offsets[base + b]++;
+            }
+        });
+
+        int[] starts = prefixSum(offsets, chunks, buckets);
+        long[] tmp = new long[n];
+        forEach(pool, chunks, chunk -> {
+            int base = chunk * buckets;
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                tmp[offsets[base + (oracle[i] & 0xFF)]++] = a[i];
+            }
+        });
+
+        forEach(pool, buckets, b -> {
+            int lo = starts[b], hi = starts[b + 1];
+            if ((b & 1) == 0) {
+                QuickSort.introSort(tmp, lo, hi - 1);
+            }
+            System.arraycopy(tmp, lo, a, lo, hi - lo);
+        });
+    }
+
+    private static int classify(long x, long[] splitters) {
+        int lo = 0, hi = splitters.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (splitters[mid] < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo < splitters.length && x == splitters[lo] ? 2 * lo + 1 : 2 * lo;
+    }
+
+    /**
+     * 并行样本排序（double[] 版本，不装箱），使用公共 ForkJoinPool
+     *
+     * @param a 需要排序的数组
+     */
+    public static void sampleSort(double[] a) {
+        sampleSort(a, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行样本排序（double[] 版本，不装箱）
+     * 顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a    需要排序的数组
+     * @param pool 执行排序的线程池，线程数决定分块数和桶数
+     */
+    public static void sampleSort(double[] a, ForkJoinPool pool) {
+        int n = SortUtil.moveNaNsToEnd(a, 0, a.length);  // NaN 不参与抽样和分桶，留在末尾
+        int parallelism = pool.getParallelism();
+        if (n < SEQUENTIAL_THRESHOLD || parallelism == 1) {
+            QuickSort.introSort(a, 0, n - 1);
+            return;
+        }
+        int splitterCount = bucketCount(parallelism) - 1;
+        double[] sample = new double[(splitterCount + 1) * OVERSAMPLING];
+        Random random = new Random(n);
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = a[random.nextInt(n)];
+        }
+        QuickSort.introSort(sample, 0, sample.length - 1);
+        double[] splitters = new double[splitterCount];
+        for (int i = 0; i < splitterCount; i++) {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+
+        int buckets = 2 * splitterCount + 1;
+        int chunks = parallelism;
+        int chunkSize = (n + chunks - 1) / chunks;
+        byte[] oracle = new byte[n];
+        int[] offsets = new int[chunks * buckets];
+        forEach(pool, chunks, chunk -> {
+            int base = chunk * buckets;
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                int b = classify(a[i], splitters);
+                oracle[i] = (byte) b;
+                offsets[base + b]++;
+            }
+        });
+
+        int[] starts = prefixSum(offsets, chunks, buckets);
+        double[] tmp = new double[n];
+        forEach(pool, chunks, chunk -> {
+            int base = chunk * buckets;
+            for (int i = chunk * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                tmp[offsets[base + (oracle[i] & 0xFF)]++] = a[i];
+            }
+        });
+
+        forEach(pool, buckets, b -> {
+            int lo = starts[b], hi = starts[b + 1];
+            if ((b & 1) == 0) {
+                QuickSort.introSort(tmp, lo, hi - 1);
+            } else if (splitters[b >>> 1] == 0.0d) {  // 相等桶里 -0.0 与 0.0 混在一起
+                SortUtil.sortZeros(tmp, lo, hi);
+            }
+            System.arraycopy(tmp, lo, a, lo, hi - lo);
+        });
+    }
+
+    private static int classify(double x, double[] splitters) {
+        int lo = 0, hi = splitters.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (splitters[mid] < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo < splitters.length && x == splitters[lo] ? 2 * lo + 1 : 2 * lo;
+    }
+
+    private static int bucketCount(int parallelism) {
+        return Math.max(2, Math.min(MAX_BUCKETS, parallelism * BUCKETS_PER_THREAD));
+    }
+
+    /**
+     * 按桶优先、块其次的顺序对计数求前缀和，offsets[块][桶] 就地变为写入位置
+     *
+     * @return 每个桶的开始位置，最后一个元素为总数
+     */
+    private static int[] prefixSum(int[] offsets, int chunks, int buckets) {
+        int[] starts = new int[buckets + 1];
+        int sum = 0;
+        for (int b = 0; b < buckets; b++) {
+            starts[b] = sum;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int count = offsets[chunk * buckets + b];
+                offsets[chunk * buckets + b] = sum;
+                sum += count;
+            }
+        }
+        starts[buckets] = sum;
+        return starts;
+    }
+
+    /**
+     * 在 pool 中对 [0, count) 的每个下标并行执行 action
+     */
+    private static void forEach(ForkJoinPool pool, int count, IntConsumer action) {
+        pool.invoke(new ForEachTask(action, 0, count));
+    }
+
+    /**
+     * 把 [from, to) 二分拆成子任务，每个叶子任务处理一个下标
+     */
+    private static class ForEachTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IntConsumer action;
+        private final int from;
+        private final int to;
+
+        ForEachTask(IntConsumer action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ForEachTask(action, from, mid), new ForEachTask(action, mid, to));
+            } else if (from < to) {
+                action.accept(from);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int length = 10000000;
+        Random random = new Random();
+        int[] a = new int[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = random.nextInt();
+        }
+        int[] b = a.clone();
+        Integer[] c = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            c[i] = a[i];
+        }
+
+        long start = System.currentTimeMillis();
+        sampleSort(a);
+        long end = System.currentTimeMillis();
+        System.out.println("并行样本排序 " + length + " 个int耗时：" + (end - start) + "毫秒");
+
+        start = System.currentTimeMillis();
+        QuickSort.introSort(b, 0, length - 1);
+        end = System.currentTimeMillis();
+        System.out.println("内省排序 " + length + " 个int耗时：" + (end - start) + "毫秒");
+        System.out.println(Arrays.equals(a, b));
+
+        start = System.currentTimeMillis();
+        sampleSort(c);
+        end = System.currentTimeMillis();
+        System.out.println("并行样本排序 " + length + " 个Integer耗时：" + (end - start) + "毫秒");
+        System.out.println(SortUtil.isMonotoneInc(c));
+    }
+}
@@ -2,6 +2,7 @@ package sort;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Comparator;
 import java.util.Random;
 
 import static sort.SortUtil.swap;
@@ -23,11 +24,86 @@ public class SelectionSort {
      *
      * @param a 需要排序的数组
      */
-    private static void selectSort(Comparable[] a) {
+    public static void selectSort(Comparable[] a) {
+        selectSort(a, 0, a.length, SortUtil.naturalOrder());
+    }
+
+    /**
+     * 对 [from, to) 区间选择排序
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void selectSort(T[] a, int from, int to, Comparator<? super T> c) {
+        SortUtil.rangeCheck(a.length, from, to);
+        for (int i = from; i < to; i++) {
+            int min = i;
+            for (int j = i + 1; j < to; j++) {
+                if (c.compare(a[j], a[min]) < 0) {
+                    min = j;
+                }
+            }
+
+            if (min != i) {
+                swap(a, i, min);
+            }
+        }
+    }
+
+    /**
+     * 选择排序（int[] 版本，不装箱）
+     *
+     * @param a 需要排序的数组
+     */
+    public static void selectSort(int[] a) {
+        for (int i = 0; i < a.length; i++) {
+            int min = i;
+            for (int j = i + 1; j < a.length; j++) {
+                if (a[j] < a[min]) {
+                    min = j;
+                }
+            }
+
+            if (min != i) {
+                swap(a, i, min);
+            }
+        }
+    }
+
+    /**
+     * 选择排序（long[] 版本，不装箱）
+     *
+     * @param a 需要排序的数组
+     */
+    public static void selectSort(long[] a) {
         for (int i = 0; i < a.length; i++) {
             int min = i;
             for (int j = i + 1; j < a.length; j++) {
-                if (a[j].compareTo(a[min]) < 0) {
+                if (a[j] < a[min]) {
+                    min = j;
+                }
+            }
+
+            if (min != i) {
+                swap(a, i, min);
+            }
+        }
+    }
+
+    /**
+     * 选择排序（double[] 版本，不装箱）
+     * 顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a 需要排序的数组
+     */
+    public static void selectSort(double[] a) {
+        int n = SortUtil.moveNaNsToEnd(a, 0, a.length);
+        for (int i = 0; i < n; i++) {
+            int min = i;
+            for (int j = i + 1; j < n; j++) {
+                if (a[j] < a[min]) {
                     min = j;
                 }
             }
@@ -36,6 +112,7 @@ public class SelectionSort {
                 swap(a, i, min);
             }
         }
+        SortUtil.sortZeros(a, 0, n);
     }
 
     public static void main(String[] args) {
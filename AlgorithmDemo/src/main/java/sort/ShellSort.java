@@ -2,10 +2,10 @@ package sort;
 
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Random;
 
-import static sort.SortUtil.swap;
-
 /**
  * 希尔排序(Shell Sort)是插入排序的一种。也称缩小增量排序，
  * 是直接插入排序算法的一种更高效的改进版本。
@@ -14,6 +14,10 @@ import static sort.SortUtil.swap;
  * 随着增量逐渐减少，每组包含的关键词越来越多，
  * 当增量减至1时，整个文件恰被分成一组，算法便终止
  * <p>
+ * 增量序列由 {@link GapSequence} 给出，各序列预先算好保存在数组中，
+ * 排序时从小于区间长度的最大增量开始依次使用。组内插入排序用后移代替交换，每个元素只写一次。
+ * 希尔排序不需要额外空间，适合内存受限、不能为归并排序分配O(N)缓冲区的场景。
+ * <p>
  * 希尔排序是不稳定的算法
  * 希尔排序的空间复杂度是O(1)
  * 希尔排序的时间复杂度与增量序列的选取有关
@@ -21,26 +25,294 @@ import static sort.SortUtil.swap;
  */
 public class ShellSort {
 
+    /**
+     * 增量序列，数组按升序保存，第一个元素都是1
+     */
+    public enum GapSequence {
+        /**
+         * Ciura 实验得出的序列 1, 4, 10, 23, 57, 132, 301, 701, 1750，之后按2.25倍延伸，实测平均最快
+         */
+        CIURA(ciura()),
+        /**
+         * Tokuda 序列 h = ceil(h'), h' = 2.25h' + 1：1, 4, 9, 20, 46, 103, ...
+         */
+        TOKUDA(tokuda()),
+        /**
+         * Sedgewick 序列 4^k + 3*2^(k-1) + 1：1, 8, 23, 77, 281, 1073, ...，最坏时间O(N^(4/3))
+         */
+        SEDGEWICK(sedgewick());
+
+        private final int[] gaps;
+
+        GapSequence(int[] gaps) {
+            this.gaps = gaps;
+        }
+    }
+
+    /**
+     * 希尔排序，增量序列为 h = inc * h + 1
+     *
+     * @param a   要排序的数组
+     * @param inc 增量系列
+     */
+    public static void shellSort(Comparable[] a, int inc) {
+        shellSort(a, 0, a.length, gaps(inc, a.length), SortUtil.naturalOrder());
+    }
+
     /**
      * 希尔排序
      *
+     * @param a        要排序的数组
+     * @param sequence 增量序列
+     */
+    public static void shellSort(Comparable[] a, GapSequence sequence) {
+        shellSort(a, 0, a.length, sequence.gaps, SortUtil.naturalOrder());
+    }
+
+    /**
+     * 对 [from, to) 区间希尔排序，使用 {@link GapSequence#CIURA} 增量序列
+     *
+     * @param a    要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void shellSort(T[] a, int from, int to, Comparator<? super T> c) {
+        shellSort(a, from, to, GapSequence.CIURA, c);
+    }
+
+    /**
+     * 对 [from, to) 区间希尔排序
+     *
+     * @param a        要排序的数组
+     * @param from     区间开始位置（包含）
+     * @param to       区间结束位置（不包含）
+     * @param sequence 增量序列
+     * @param c        比较器
+     */
+    public static <T> void shellSort(T[] a, int from, int to, GapSequence sequence, Comparator<? super T> c) {
+        SortUtil.rangeCheck(a.length, from, to);
+        shellSort(a, from, to, sequence.gaps, c);
+    }
+
+    private static <T> void shellSort(T[] a, int from, int to, int[] gaps, Comparator<? super T> c) {
+        for (int k = startIndex(gaps, to - from); k >= 0; k--) {
+            int h = gaps[k];
+            for (int i = from + h; i < to; i++) {
+                T current = a[i];
+                int j = i;
+                for (; j >= from + h && c.compare(current, a[j - h]) < 0; j -= h) {
+                    a[j] = a[j - h];
+                }
+                a[j] = current;
+            }
+        }
+    }
+
+    /**
+     * 希尔排序（int[] 版本，不装箱），增量序列为 h = inc * h + 1
+     *
      * @param a   要排序的数组
      * @param inc 增量系列
      */
-    private static void shellSort(Comparable[] a, int inc) {
-        int length = a.length;
-        int h = 1;
+    public static void shellSort(int[] a, int inc) {
+        shellSort(a, 0, a.length, gaps(inc, a.length));
+    }
+
+    /**
+     * 希尔排序（int[] 版本，不装箱）
+     *
+     * @param a        要排序的数组
+     * @param sequence 增量序列
+     */
+    public static void shellSort(int[] a, GapSequence sequence) {
+        shellSort(a, 0, a.length, sequence.gaps);
+    }
+
+    /**
+     * 对 [from, to) 区间希尔排序（int[] 版本，不装箱）
+     *
+     * @param a        要排序的数组
+     * @param from     区间开始位置（包含）
+     * @param to       区间结束位置（不包含）
+     * @param sequence 增量序列
+     */
+    public static void shellSort(int[] a, int from, int to, GapSequence sequence) {
+        SortUtil.rangeCheck(a.length, from, to);
+        shellSort(a, from, to, sequence.gaps);
+    }
+
+    private static void shellSort(int[] a, int from, int to, int[] gaps) {
+        for (int k = startIndex(gaps, to - from); k >= 0; k--) {
+            int h = gaps[k];
+            for (int i = from + h; i < to; i++) {
+                int current = a[i];
+                int j = i;
+                for (; j >= from + h && current < a[j - h]; j -= h) {
+                    a[j] = a[j - h];
+                }
+                a[j] = current;
+            }
+        }
+    }
+
+    /**
+     * 希尔排序（long[] 版本，不装箱），增量序列为 h = inc * h + 1
+     *
+     * @param a   要排序的数组
+     * @param inc 增量系列
+     */
+    public static void shellSort(long[] a, int inc) {
+        shellSort(a, 0, a.length, gaps(inc, a.length));
+    }
+
+    /**
+     * 希尔排序（long[] 版本，不装箱）
+     *
+     * @param a        要排序的数组
+     * @param sequence 增量序列
+     */
+    public static void shellSort(long[] a, GapSequence sequence) {
+        shellSort(a, 0, a.length, sequence.gaps);
+    }
+
+    /**
+     * 对 [from, to) 区间希尔排序（long[] 版本，不装箱）
+     *
+     * @param a        要排序的数组
+     * @param from     区间开始位置（包含）
+     * @param to       区间结束位置（不包含）
+     * @param sequence 增量序列
+     */
+    public static void shellSort(long[] a, int from, int to, GapSequence sequence) {
+        SortUtil.rangeCheck(a.length, from, to);
+        shellSort(a, from, to, sequence.gaps);
+    }
+
+    private static void shellSort(long[] a, int from, int to, int[] gaps) {
+        for (int k = startIndex(gaps, to - from); k >= 0; k--) {
+            int h = gaps[k];
+            for (int i = from + h; i < to; i++) {
+                long current = a[i];
+                int j = i;
+                for (; j >= from + h && current < a[j - h]; j -= h) {
+                    a[j] = a[j - h];
+                }
+                a[j] = current;
+            }
+        }
+    }
+
+    /**
+     * 希尔排序（double[] 版本，不装箱），增量序列为 h = inc * h + 1
+     * 顺序与 Arrays.sort 相同：NaN 排在最后，-0.0 排在 0.0 前面
+     *
+     * @param a   要排序的数组
+     * @param inc 增量系列
+     */
+    public static void shellSort(double[] a, int inc) {
+        shellSort(a, 0, a.length, gaps(inc, a.length));
+    }
+
+    /**
+     * 希尔排序（double[] 版本，不装箱）
+     *
+     * @param a        要排序的数组
+     * @param sequence 增量序列
+     */
+    public static void shellSort(double[] a, GapSequence sequence) {
+        shellSort(a, 0, a.length, sequence.gaps);
+    }
+
+    /**
+     * 对 [from, to) 区间希尔排序（double[] 版本，不装箱）
+     *
+     * @param a        要排序的数组
+     * @param from     区间开始位置（包含）
+     * @param to       区间结束位置（不包含）
+     * @param sequence 增量序列
+     */
+    public static void shellSort(double[] a, int from, int to, GapSequence sequence) {
+        SortUtil.rangeCheck(a.length, from, to);
+        shellSort(a, from, to, sequence.gaps);
+    }
+
+    private static void shellSort(double[] a, int from, int to, int[] gaps) {
+        to = SortUtil.moveNaNsToEnd(a, from, to);  // NaN 排在最后，只排前面的部分
+        for (int k = startIndex(gaps, to - from); k >= 0; k--) {
+            int h = gaps[k];
+            for (int i = from + h; i < to; i++) {
+                double current = a[i];
+                int j = i;
+                for (; j >= from + h && current < a[j - h]; j -= h) {
+                    a[j] = a[j - h];
+                }
+                a[j] = current;
+            }
+        }
+        SortUtil.sortZeros(a, from, to);
+    }
+
+    /**
+     * 小于 length 的最大增量的下标，length 不超过1时返回-1
+     */
+    private static int startIndex(int[] gaps, int length) {
+        int k = 0;
+        while (k < gaps.length && gaps[k] < length) {
+            k++;
+        }
+        return k - 1;
+    }
+
+    /**
+     * 原有的 h = inc * h + 1 序列，第一个增量是不小于 length / inc 的最小值
+     */
+    private static int[] gaps(int inc, int length) {
+        if (inc < 2) {
+            throw new IllegalArgumentException("inc must be at least 2: " + inc);
+        }
+        int[] gaps = new int[32];
+        int size = 0;
+        long h = 1;
+        gaps[size++] = 1;
         while (h < length / inc) {
             h = inc * h + 1;
+            gaps[size++] = (int) h;
         }
-        while (h >= 1) {
-            for (int i = h; i < length; i++) {
-                for (int j = i; j >= h && a[j].compareTo(a[j - h]) < 0; j -= h) {
-                    swap(a, j, j - h);
-                }
+        return Arrays.copyOf(gaps, size);
+    }
+
+    private static int[] ciura() {
+        int[] known = {1, 4, 10, 23, 57, 132, 301, 701, 1750};
+        int[] gaps = Arrays.copyOf(known, 64);
+        int size = known.length;
+        for (double h = known[size - 1] * 2.25; h < Integer.MAX_VALUE; h *= 2.25) {
+            gaps[size++] = (int) h;
+        }
+        return Arrays.copyOf(gaps, size);
+    }
+
+    private static int[] tokuda() {
+        int[] gaps = new int[64];
+        int size = 0;
+        for (double h = 1; Math.ceil(h) < Integer.MAX_VALUE; h = 2.25 * h + 1) {
+            gaps[size++] = (int) Math.ceil(h);
+        }
+        return Arrays.copyOf(gaps, size);
+    }
+
+    private static int[] sedgewick() {
+        int[] gaps = new int[64];
+        int size = 0;
+        gaps[size++] = 1;
+        for (int k = 1; ; k++) {
+            long h = (1L << (2 * k)) + 3L * (1L << (k - 1)) + 1;
+            if (h >= Integer.MAX_VALUE) {
+                break;
             }
-            h = h / inc;
+            gaps[size++] = (int) h;
         }
+        return Arrays.copyOf(gaps, size);
     }
 
     public static void main(String[] args) {
@@ -59,5 +331,23 @@ public class ShellSort {
         System.out.println("耗时：" + (end - start) + "毫秒");
         System.out.println(StringUtils.join(a, ','));
         System.out.println(SortUtil.isMonotoneInc(a));
+
+        // 各增量序列对比
+        int[] source = new int[length * 1000];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = new Random().nextInt();
+        }
+        int[] b = source.clone();
+        start = System.currentTimeMillis();
+        shellSort(b, 3);
+        end = System.currentTimeMillis();
+        System.out.println("h = 3h + 1 序列排序 " + source.length + " 个元素耗时：" + (end - start) + "毫秒");
+        for (GapSequence sequence : GapSequence.values()) {
+            b = source.clone();
+            start = System.currentTimeMillis();
+            shellSort(b, sequence);
+            end = System.currentTimeMillis();
+            System.out.println(sequence + " 序列排序 " + source.length + " 个元素耗时：" + (end - start) + "毫秒");
+        }
     }
 }
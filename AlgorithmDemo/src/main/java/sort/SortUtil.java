@@ -1,47 +1,497 @@
 package sort;
 
+import java.lang.reflect.Array;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * 排序算法 辅助工具类
+ * <p>
+ * isMonotoneInc/isMonotoneDec 检查数组或区间是否已经有序，可以作为排序结果的校验。
+ * 大数组可以用 parallelIsMonotoneInc/parallelIsMonotoneDec 在 ForkJoinPool 中分段并行检查：
+ * 各段共享一个标志，任何一段发现逆序后其余各段在下一个检查块结束时停止。
  */
-class SortUtil {
+public class SortUtil {
+
+    /**
+     * 区间长度小于该值时并行检查退化为顺序检查
+     */
+    static final int PARALLEL_CHECK_THRESHOLD = 1 << 16;
+
+    /**
+     * 并行检查时每检查这么多元素查看一次停止标志
+     */
+    private static final int CHECK_BLOCK = 1 << 12;
+
     /**
      * 判断数组是否单调递增
      *
      * @param a 数组
      * @return boolean
      */
-    static boolean isMonotoneInc(Comparable[] a) {
-        if (a.length <= 1) {
-            return true;
+    public static boolean isMonotoneInc(Comparable[] a) {
+        return isMonotoneInc(a, 0, a.length, naturalOrder());
+    }
+
+    public static boolean isMonotoneDec(Comparable[] a) {
+        return isMonotoneDec(a, 0, a.length, naturalOrder());
+    }
+
+    /**
+     * 判断 [from, to) 区间是否按比较器单调递增
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     * @return boolean
+     */
+    public static <T> boolean isMonotoneInc(T[] a, int from, int to, Comparator<? super T> c) {
+        rangeCheck(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            if (c.compare(a[i], a[i - 1]) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断 [from, to) 区间是否按比较器单调递减
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     * @return boolean
+     */
+    public static <T> boolean isMonotoneDec(T[] a, int from, int to, Comparator<? super T> c) {
+        rangeCheck(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            if (c.compare(a[i], a[i - 1]) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isMonotoneInc(int[] a) {
+        return isMonotoneInc(a, 0, a.length);
+    }
+
+    /**
+     * 判断 [from, to) 区间是否单调递增（int[] 版本）
+     */
+    public static boolean isMonotoneInc(int[] a, int from, int to) {
+        rangeCheck(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            if (a[i] < a[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isMonotoneDec(int[] a) {
+        return isMonotoneDec(a, 0, a.length);
+    }
+
+    /**
+     * 判断 [from, to) 区间是否单调递减（int[] 版本）
+     */
+    public static boolean isMonotoneDec(int[] a, int from, int to) {
+        rangeCheck(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            if (a[i] > a[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isMonotoneInc(long[] a) {
+        return isMonotoneInc(a, 0, a.length);
+    }
+
+    /**
+     * 判断 [from, to) 区间是否单调递增（long[] 版本）
+     */
+    public static boolean isMonotoneInc(long[] a, int from, int to) {
+        rangeCheck(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            if (a[i] < a[i - 1]) {
+                return false;
+            }
         }
-        for (int i = 1; i < a.length - 1; i++) {
-            if (a[i].compareTo(a[i - 1]) < 0) {
+        return true;
+    }
+
+    public static boolean isMonotoneDec(long[] a) {
+        return isMonotoneDec(a, 0, a.length);
+    }
+
+    /**
+     * 判断 [from, to) 区间是否单调递减（long[] 版本）
+     */
+    public static boolean isMonotoneDec(long[] a, int from, int to) {
+        rangeCheck(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            if (a[i] > a[i - 1]) {
                 return false;
             }
         }
         return true;
     }
 
-    static boolean isMonotoneDec(Comparable[] a) {
-        if (a.length <= 1) {
-            return true;
+    public static boolean isMonotoneInc(double[] a) {
+        return isMonotoneInc(a, 0, a.length);
+    }
+
+    /**
+     * 判断 [from, to) 区间是否单调递增（double[] 版本）
+     * 按 Double.compare 的全序比较，与 Arrays.sort 的结果一致：NaN 在最后，-0.0 在 0.0 前面
+     */
+    public static boolean isMonotoneInc(double[] a, int from, int to) {
+        rangeCheck(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            if (Double.compare(a[i], a[i - 1]) < 0) {
+                return false;
+            }
         }
-        for (int i = 1; i < a.length - 1; i++) {
-            if (a[i].compareTo(a[i - 1]) > 0) {
+        return true;
+    }
+
+    public static boolean isMonotoneDec(double[] a) {
+        return isMonotoneDec(a, 0, a.length);
+    }
+
+    /**
+     * 判断 [from, to) 区间是否单调递减（double[] 版本）
+     * 按 Double.compare 的全序比较：NaN 在最前面，0.0 在 -0.0 前面
+     */
+    public static boolean isMonotoneDec(double[] a, int from, int to) {
+        rangeCheck(a.length, from, to);
+        for (int i = from + 1; i < to; i++) {
+            if (Double.compare(a[i], a[i - 1]) > 0) {
                 return false;
             }
         }
         return true;
     }
 
-    static void swap(Comparable[] a, int i, int j) {
+    /**
+     * 在公共 ForkJoinPool 中并行判断 [from, to) 区间是否按比较器单调递增
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     * @return boolean
+     */
+    public static <T> boolean parallelIsMonotoneInc(T[] a, int from, int to, Comparator<? super T> c) {
+        return parallelIsMonotoneInc(a, from, to, c, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在 pool 中并行判断 [from, to) 区间是否按比较器单调递增
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     * @param pool 执行检查的线程池
+     * @return boolean
+     */
+    public static <T> boolean parallelIsMonotoneInc(T[] a, int from, int to, Comparator<? super T> c,
+                                                    ForkJoinPool pool) {
+        rangeCheck(a.length, from, to);
+        return parallelCheck(from, to, (lo, hi) -> isMonotoneInc(a, lo, hi, c), pool);
+    }
+
+    /**
+     * 在公共 ForkJoinPool 中并行判断数组是否单调递增（int[] 版本）
+     */
+    public static boolean parallelIsMonotoneInc(int[] a) {
+        return parallelIsMonotoneInc(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在 pool 中并行判断 [from, to) 区间是否单调递增（int[] 版本）
+     */
+    public static boolean parallelIsMonotoneInc(int[] a, int from, int to, ForkJoinPool pool) {
+        rangeCheck(a.length, from, to);
+        return parallelCheck(from, to, (lo, hi) -> isMonotoneInc(a, lo, hi), pool);
+    }
+
+    /**
+     * 在公共 ForkJoinPool 中并行判断数组是否单调递增（long[] 版本）
+     */
+    public static boolean parallelIsMonotoneInc(long[] a) {
+        return parallelIsMonotoneInc(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在 pool 中并行判断 [from, to) 区间是否单调递增（long[] 版本）
+     */
+    public static boolean parallelIsMonotoneInc(long[] a, int from, int to, ForkJoinPool pool) {
+        rangeCheck(a.length, from, to);
+        return parallelCheck(from, to, (lo, hi) -> isMonotoneInc(a, lo, hi), pool);
+    }
+
+    /**
+     * 在公共 ForkJoinPool 中并行判断数组是否单调递增（double[] 版本）
+     */
+    public static boolean parallelIsMonotoneInc(double[] a) {
+        return parallelIsMonotoneInc(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在 pool 中并行判断 [from, to) 区间是否单调递增（double[] 版本）
+     */
+    public static boolean parallelIsMonotoneInc(double[] a, int from, int to, ForkJoinPool pool) {
+        rangeCheck(a.length, from, to);
+        return parallelCheck(from, to, (lo, hi) -> isMonotoneInc(a, lo, hi), pool);
+    }
+
+    /**
+     * 在公共 ForkJoinPool 中并行判断 [from, to) 区间是否按比较器单调递减
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     * @return boolean
+     */
+    public static <T> boolean parallelIsMonotoneDec(T[] a, int from, int to, Comparator<? super T> c) {
+        return parallelIsMonotoneDec(a, from, to, c, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在 pool 中并行判断 [from, to) 区间是否按比较器单调递减
+     *
+     * @param a    数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     * @param pool 执行检查的线程池
+     * @return boolean
+     */
+    public static <T> boolean parallelIsMonotoneDec(T[] a, int from, int to, Comparator<? super T> c,
+                                                    ForkJoinPool pool) {
+        rangeCheck(a.length, from, to);
+        return parallelCheck(from, to, (lo, hi) -> isMonotoneDec(a, lo, hi, c), pool);
+    }
+
+    /**
+     * 在公共 ForkJoinPool 中并行判断数组是否单调递减（int[] 版本）
+     */
+    public static boolean parallelIsMonotoneDec(int[] a) {
+        return parallelIsMonotoneDec(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在 pool 中并行判断 [from, to) 区间是否单调递减（int[] 版本）
+     */
+    public static boolean parallelIsMonotoneDec(int[] a, int from, int to, ForkJoinPool pool) {
+        rangeCheck(a.length, from, to);
+        return parallelCheck(from, to, (lo, hi) -> isMonotoneDec(a, lo, hi), pool);
+    }
+
+    /**
+     * 在公共 ForkJoinPool 中并行判断数组是否单调递减（long[] 版本）
+     */
+    public static boolean parallelIsMonotoneDec(long[] a) {
+        return parallelIsMonotoneDec(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在 pool 中并行判断 [from, to) 区间是否单调递减（long[] 版本）
+     */
+    public static boolean parallelIsMonotoneDec(long[] a, int from, int to, ForkJoinPool pool) {
+        rangeCheck(a.length, from, to);
+        return parallelCheck(from, to, (lo, hi) -> isMonotoneDec(a, lo, hi), pool);
+    }
+
+    /**
+     * 在公共 ForkJoinPool 中并行判断数组是否单调递减（double[] 版本）
+     */
+    public static boolean parallelIsMonotoneDec(double[] a) {
+        return parallelIsMonotoneDec(a, 0, a.length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在 pool 中并行判断 [from, to) 区间是否单调递减（double[] 版本）
+     */
+    public static boolean parallelIsMonotoneDec(double[] a, int from, int to, ForkJoinPool pool) {
+        rangeCheck(a.length, from, to);
+        return parallelCheck(from, to, (lo, hi) -> isMonotoneDec(a, lo, hi), pool);
+    }
+
+    /**
+     * 检查 [from, to) 区间内相邻元素是否满足顺序要求
+     */
+    private interface RangeCheck {
+        boolean test(int from, int to);
+    }
+
+    private static boolean parallelCheck(int from, int to, RangeCheck check, ForkJoinPool pool) {
+        if (to - from < PARALLEL_CHECK_THRESHOLD || pool.getParallelism() == 1) {
+            return check.test(from, to);
+        }
+        AtomicBoolean violated = new AtomicBoolean();
+        int granularity = Math.max(PARALLEL_CHECK_THRESHOLD >>> 2, (to - from) / (pool.getParallelism() << 2));
+        pool.invoke(new CheckTask(check, violated, from, from, to, granularity));
+        return !violated.get();
+    }
+
+    /**
+     * 并行检查 [lo, hi) 区间，每段还要检查与前一段最后一个元素之间的顺序；
+     * 发现逆序时设置共享的 violated 标志，其他段看到标志后不再继续
+     */
+    private static class CheckTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeCheck check;
+        private final AtomicBoolean violated;
+        private final int start;
+        private final int lo;
+        private final int hi;
+        private final int granularity;
+
+        CheckTask(RangeCheck check, AtomicBoolean violated, int start, int lo, int hi, int granularity) {
+            this.check = check;
+            this.violated = violated;
+            this.start = start;
+            this.lo = lo;
+            this.hi = hi;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            if (violated.get()) {
+                return;
+            }
+            if (hi - lo > granularity) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new CheckTask(check, violated, start, lo, mid, granularity),
+                        new CheckTask(check, violated, start, mid, hi, granularity));
+                return;
+            }
+            for (int i = lo; i < hi && !violated.get(); i += CHECK_BLOCK) {
+                if (!check.test(Math.max(start, i - 1), Math.min(hi, i + CHECK_BLOCK))) {
+                    violated.set(true);
+                }
+            }
+        }
+    }
+
+    static void swap(Object[] a, int i, int j) {
         if (a.length <= 0 || a.length < i || a.length < j) {
             throw new IndexOutOfBoundsException();
         }
-        Comparable tmp = a[i];
+        Object tmp = a[i];
         a[i] = a[j];
         a[j] = tmp;
     }
 
+    /**
+     * 检查 [from, to) 是否是合法区间
+     *
+     * @param length 数组长度
+     * @param from   区间开始位置（包含）
+     * @param to     区间结束位置（不包含）
+     */
+    static void rangeCheck(int length, int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (to > length) {
+            throw new ArrayIndexOutOfBoundsException(to);
+        }
+    }
+
+    /**
+     * 自然顺序比较器，供 Comparable[] 版本调用泛型版本时使用
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Comparator<T> naturalOrder() {
+        return (Comparator<T>) Comparator.naturalOrder();
+    }
+
+    /**
+     * 创建与 a 元素类型相同的数组，用作临时数组
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T[] newArray(T[] a, int length) {
+        return (T[]) Array.newInstance(a.getClass().getComponentType(), length);
+    }
+
+    static void swap(int[] a, int i, int j) {
+        int tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+    static void swap(long[] a, int i, int j) {
+        long tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+    static void swap(double[] a, int i, int j) {
+        double tmp = a[i];
+        a[i] = a[j];
+        a[j] = tmp;
+    }
+
+    /**
+     * double[] 排序的预处理：把 [from, to) 中的 NaN 交换到区间末尾。
+     * <p>
+     * 与 NaN 的 < 比较总是 false，NaN 留在区间里会打乱排序结果；
+     * 之后只对返回位置之前的部分排序，得到与 Arrays.sort 相同的顺序：NaN 排在最后
+     *
+     * @return 非 NaN 部分的结束位置（不包含）
+     */
+    static int moveNaNsToEnd(double[] a, int from, int to) {
+        int end = to;
+        for (int i = from; i < end; ) {
+            if (Double.isNaN(a[i])) {
+                swap(a, i, --end);
+            } else {
+                i++;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * double[] 排序的后处理：用 < 比较时 -0.0 与 0.0 相等，排序后先后不定；
+     * 把 [from, to) 中的前 k 个 ±0.0 改为 -0.0、其余改为 0.0（k 是 -0.0 的个数），
+     * 使 -0.0 排在 0.0 前面，与 Double.compare 的顺序一致。
+     * <p>
+     * 区间已排好序时零是连续的一段；快速选择之后左边的零都不大于 a[k]，同样适用
+     */
+    static void sortZeros(double[] a, int from, int to) {
+        int negativeZeros = 0;
+        for (int i = from; i < to; i++) {
+            if (a[i] == 0.0d && Double.doubleToRawLongBits(a[i]) != 0L) {
+                negativeZeros++;
+            }
+        }
+        if (negativeZeros == 0) {
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            if (a[i] == 0.0d) {
+                a[i] = negativeZeros-- > 0 ? -0.0d : 0.0d;
+            }
+        }
+    }
 
 }
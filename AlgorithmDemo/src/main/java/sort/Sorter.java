@@ -0,0 +1,185 @@
+package sort;
+
+import java.util.Comparator;
+
+/**
+ * 统一的排序入口，每个常量对应一种排序算法，
+ * 都支持对数组的 [from, to) 区间按比较器原地排序，不需要拷贝子数组。
+ * <p>
+ * AUTO 会根据区间长度和有序程度选择算法，见 {@link #choose}。
+ * 比较器为 null 时按元素的自然顺序（Comparable）排序。
+ */
+public enum Sorter {
+    BUBBLE {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            BubbleSort.bubbleSort(a, from, to, c);
+        }
+    },
+    INSERT {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            InsertSort.insertSort(a, from, to, c);
+        }
+    },
+    SELECT {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            SelectionSort.selectSort(a, from, to, c);
+        }
+    },
+    /**
+     * 希尔排序，使用 {@link ShellSort.GapSequence#CIURA} 增量序列
+     */
+    SHELL {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            ShellSort.shellSort(a, from, to, c);
+        }
+    },
+    /**
+     * 内省排序，即 {@link QuickSort#introSort}
+     */
+    QUICK {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            QuickSort.introSort(a, from, to, c);
+        }
+    },
+    MERGE {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            MergeSort.mergeSort(a, from, to, c);
+        }
+    },
+    PARALLEL_MERGE {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            MergeSort.parallelMergeSort(a, from, to, c);
+        }
+    },
+    /**
+     * 并行样本排序，即 {@link SampleSort}
+     */
+    SAMPLE {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            SampleSort.sampleSort(a, from, to, c);
+        }
+    },
+    /**
+     * 自适应的自然归并排序，即 {@link TimSort}
+     */
+    TIM {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            TimSort.timSort(a, from, to, c);
+        }
+    },
+    HEAP {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            HeapSort.heapSort(a, from, to, c);
+        }
+    },
+    /**
+     * 按区间长度和有序程度自动选择，不保证稳定
+     */
+    AUTO {
+        @Override
+        <T> void doSort(T[] a, int from, int to, Comparator<? super T> c) {
+            choose(a, from, to, c).doSort(a, from, to, c);
+        }
+    };
+
+    /**
+     * 不超过该长度的区间直接插入排序
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * 超过该长度且可以并行时使用并行归并
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /**
+     * 有序段的平均长度不小于 NEARLY_SORTED_RATIO 时认为基本有序
+     */
+    private static final int NEARLY_SORTED_RATIO = 64;
+
+    abstract <T> void doSort(T[] a, int from, int to, Comparator<? super T> c);
+
+    /**
+     * 对整个数组排序
+     *
+     * @param a 需要排序的数组
+     * @param c 比较器，null 表示自然顺序
+     */
+    public <T> void sort(T[] a, Comparator<? super T> c) {
+        sort(a, 0, a.length, c);
+    }
+
+    /**
+     * 对 [from, to) 区间排序
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器，null 表示自然顺序
+     */
+    public <T> void sort(T[] a, int from, int to, Comparator<? super T> c) {
+        SortUtil.rangeCheck(a.length, from, to);
+        if (to - from <= 1) {
+            return;
+        }
+        doSort(a, from, to, c != null ? c : SortUtil.naturalOrder());
+    }
+
+    /**
+     * 根据区间长度和有序程度选择排序算法：
+     * (1) 长度不超过 {@value #INSERTION_SORT_THRESHOLD}：插入排序；
+     * (2) 有序段很少（基本有序）：TimSort，利用已有的有序段接近O(N)；
+     * (3) 长度较大且有多个处理器：并行归并排序；
+     * (4) 其他：内省排序。
+     * 有序段与 TimSort 的划分方法相同：非递减段，或严格递减段（TimSort 原地翻转），
+     * 因此整体逆序、由几段有序数据拼接的输入都会选择 TimSort。
+     * 统计有序段时一旦超过阈值就停止扫描，乱序输入只多付出很少的比较。
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器，null 表示自然顺序
+     * @return 选择的算法
+     */
+    public static <T> Sorter choose(T[] a, int from, int to, Comparator<? super T> c) {
+        int n = to - from;
+        if (n <= INSERTION_SORT_THRESHOLD) {
+            return INSERT;
+        }
+        if (c == null) {
+            c = SortUtil.naturalOrder();
+        }
+        int limit = Math.max(1, n / NEARLY_SORTED_RATIO);
+        int runs = 0;
+        for (int i = from; i < to && runs <= limit; runs++) {
+            int j = i + 1;
+            if (j < to && c.compare(a[j++], a[i]) < 0) {  // 严格递减段
+                while (j < to && c.compare(a[j], a[j - 1]) < 0) {
+                    j++;
+                }
+            } else {  // 非递减段
+                while (j < to && c.compare(a[j], a[j - 1]) >= 0) {
+                    j++;
+                }
+            }
+            i = j;
+        }
+        if (runs <= limit) {
+            return TIM;
+        }
+        if (n >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1) {
+            return PARALLEL_MERGE;
+        }
+        return QUICK;
+    }
+}
@@ -0,0 +1,208 @@
+package sort;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 排序网络（Sorting Network），用作快速排序、归并排序小区间的收尾排序。
+ * <p>
+ * 排序网络由一组固定的"比较-交换"组成，比较哪两个位置只取决于区间长度，与数据无关。
+ * 这里对每个完整的8元素块使用19个比较器的最优网络：8个元素全部读入局部变量（寄存器），
+ * 每个比较-交换用 min/max（或条件赋值）完成，JIT 编译为条件传送指令，没有依赖数据的分支；
+ * 各块排好序后再用一趟插入排序完成整个区间，块内已有序，插入排序的比较和移动都少得多。
+ * <p>
+ * 小区间的随机数据上插入排序几乎每个元素都有一次分支预测失败，排序网络没有这一开销。
+ * 完全由比较器组成的 8~64 元素网络（Batcher 归并交换）比较器数量约为插入排序比较次数的两倍，
+ * 且数据放不进寄存器，实测反而比插入排序慢，所以只在8元素块上使用网络。
+ * <p>
+ * 排序网络是不稳定的算法
+ * 8元素网络固定19次比较，没有分支
+ */
+public class SortingNetwork {
+
+    /**
+     * 网络处理的块大小
+     */
+    static final int BLOCK = 8;
+
+    /**
+     * 对 [from, to) 区间排序（int[] 版本）
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     */
+    public static void sort(int[] a, int from, int to) {
+        SortUtil.rangeCheck(a.length, from, to);
+        for (int i = from; i + BLOCK <= to; i += BLOCK) {
+            sort8(a, i);
+        }
+        InsertSort.insertSort(a, from, to - 1);
+    }
+
+    /**
+     * 对 a[from, from+8) 排序
+     */
+    static void sort8(int[] a, int from) {
+        int x0 = a[from], x1 = a[from + 1], x2 = a[from + 2], x3 = a[from + 3];
+        int x4 = a[from + 4], x5 = a[from + 5], x6 = a[from + 6], x7 = a[from + 7];
+        int t;
+        // 第1层
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        // 第2层
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+        // 第3层
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        // 第4层
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        // 第5层
+        t = Math.min(x1, x4); x4 = Math.max(x1, x4); x1 = t;
+        t = Math.min(x3, x6); x6 = Math.max(x3, x6); x3 = t;
+        // 第6层
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        a[from] = x0; a[from + 1] = x1; a[from + 2] = x2; a[from + 3] = x3;
+        a[from + 4] = x4; a[from + 5] = x5; a[from + 6] = x6; a[from + 7] = x7;
+    }
+
+    /**
+     * 对 [from, to) 区间排序（long[] 版本）
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     */
+    public static void sort(long[] a, int from, int to) {
+        SortUtil.rangeCheck(a.length, from, to);
+        for (int i = from; i + BLOCK <= to; i += BLOCK) {
+            sort8(a, i);
+        }
+        InsertSort.insertSort(a, from, to - 1);
+    }
+
+    /**
+     * 对 a[from, from+8) 排序
+     */
+    static void sort8(long[] a, int from) {
+        long x0 = a[from], x1 = a[from + 1], x2 = a[from + 2], x3 = a[from + 3];
+        long x4 = a[from + 4], x5 = a[from + 5], x6 = a[from + 6], x7 = a[from + 7];
+        long t;
+        // 第1层
+        t = Math.min(x0, x2); x2 = Math.max(x0, x2); x0 = t;
+        t = Math.min(x1, x3); x3 = Math.max(x1, x3); x1 = t;
+        t = Math.min(x4, x6); x6 = Math.max(x4, x6); x4 = t;
+        t = Math.min(x5, x7); x7 = Math.max(x5, x7); x5 = t;
+        // 第2层
+        t = Math.min(x0, x4); x4 = Math.max(x0, x4); x0 = t;
+        t = Math.min(x1, x5); x5 = Math.max(x1, x5); x1 = t;
+        t = Math.min(x2, x6); x6 = Math.max(x2, x6); x2 = t;
+        t = Math.min(x3, x7); x7 = Math.max(x3, x7); x3 = t;
+        // 第3层
+        t = Math.min(x0, x1); x1 = Math.max(x0, x1); x0 = t;
+        t = Math.min(x2, x3); x3 = Math.max(x2, x3); x2 = t;
+        t = Math.min(x4, x5); x5 = Math.max(x4, x5); x4 = t;
+        t = Math.min(x6, x7); x7 = Math.max(x6, x7); x6 = t;
+        // 第4层
+        t = Math.min(x2, x4); x4 = Math.max(x2, x4); x2 = t;
+        t = Math.min(x3, x5); x5 = Math.max(x3, x5); x3 = t;
+        // 第5层
+        t = Math.min(x1, x4); x4 = Math.max(x1, x4); x1 = t;
+        t = Math.min(x3, x6); x6 = Math.max(x3, x6); x3 = t;
+        // 第6层
+        t = Math.min(x1, x2); x2 = Math.max(x1, x2); x1 = t;
+        t = Math.min(x3, x4); x4 = Math.max(x3, x4); x3 = t;
+        t = Math.min(x5, x6); x6 = Math.max(x5, x6); x5 = t;
+        a[from] = x0; a[from + 1] = x1; a[from + 2] = x2; a[from + 3] = x3;
+        a[from + 4] = x4; a[from + 5] = x5; a[from + 6] = x6; a[from + 7] = x7;
+    }
+
+    /**
+     * 对 [from, to) 区间排序（double[] 版本）
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     */
+    public static void sort(double[] a, int from, int to) {
+        SortUtil.rangeCheck(a.length, from, to);
+        for (int i = from; i + BLOCK <= to; i += BLOCK) {
+            sort8(a, i);
+        }
+        InsertSort.insertSort(a, from, to - 1);
+    }
+
+    /**
+     * 对 a[from, from+8) 排序
+     */
+    static void sort8(double[] a, int from) {
+        // 不用 Math.min/max：它们遇到 NaN 会返回两个 NaN，丢掉另一个元素；按 < 条件赋值与插入排序一致
+        double x0 = a[from], x1 = a[from + 1], x2 = a[from + 2], x3 = a[from + 3];
+        double x4 = a[from + 4], x5 = a[from + 5], x6 = a[from + 6], x7 = a[from + 7];
+        double t;
+        boolean less;
+        // 第1层
+        less = x2 < x0; t = less ? x2 : x0; x2 = less ? x0 : x2; x0 = t;
+        less = x3 < x1; t = less ? x3 : x1; x3 = less ? x1 : x3; x1 = t;
+        less = x6 < x4; t = less ? x6 : x4; x6 = less ? x4 : x6; x4 = t;
+        less = x7 < x5; t = less ? x7 : x5; x7 = less ? x5 : x7; x5 = t;
+        // 第2层
+        less = x4 < x0; t = less ? x4 : x0; x4 = less ? x0 : x4; x0 = t;
+        less = x5 < x1; t = less ? x5 : x1; x5 = less ? x1 : x5; x1 = t;
+        less = x6 < x2; t = less ? x6 : x2; x6 = less ? x2 : x6; x2 = t;
+        less = x7 < x3; t = less ? x7 : x3; x7 = less ? x3 : x7; x3 = t;
+        // 第3层
+        less = x1 < x0; t = less ? x1 : x0; x1 = less ? x0 : x1; x0 = t;
+        less = x3 < x2; t = less ? x3 : x2; x3 = less ? x2 : x3; x2 = t;
+        less = x5 < x4; t = less ? x5 : x4; x5 = less ? x4 : x5; x4 = t;
+        less = x7 < x6; t = less ? x7 : x6; x7 = less ? x6 : x7; x6 = t;
+        // 第4层
+        less = x4 < x2; t = less ? x4 : x2; x4 = less ? x2 : x4; x2 = t;
+        less = x5 < x3; t = less ? x5 : x3; x5 = less ? x3 : x5; x3 = t;
+        // 第5层
+        less = x4 < x1; t = less ? x4 : x1; x4 = less ? x1 : x4; x1 = t;
+        less = x6 < x3; t = less ? x6 : x3; x6 = less ? x3 : x6; x3 = t;
+        // 第6层
+        less = x2 < x1; t = less ? x2 : x1; x2 = less ? x1 : x2; x1 = t;
+        less = x4 < x3; t = less ? x4 : x3; x4 = less ? x3 : x4; x3 = t;
+        less = x6 < x5; t = less ? x6 : x5; x6 = less ? x5 : x6; x5 = t;
+        a[from] = x0; a[from + 1] = x1; a[from + 2] = x2; a[from + 3] = x3;
+        a[from + 4] = x4; a[from + 5] = x5; a[from + 6] = x6; a[from + 7] = x7;
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random();
+        int length = 64;
+        int blocks = 100000;
+        int[] a = new int[length * blocks];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextInt();
+        }
+        int[] b = a.clone();
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < a.length; i += length) {
+            InsertSort.insertSort(a, i, i + length - 1);
+        }
+        long end = System.currentTimeMillis();
+        System.out.println("插入排序 " + blocks + " 个" + length + "元素区间耗时：" + (end - start) + "毫秒");
+
+        start = System.currentTimeMillis();
+        for (int i = 0; i < b.length; i += length) {
+            sort(b, i, i + length);
+        }
+        end = System.currentTimeMillis();
+        System.out.println("排序网络 " + blocks + " 个" + length + "元素区间耗时：" + (end - start) + "毫秒");
+        System.out.println(Arrays.equals(a, b));
+    }
+}
@@ -0,0 +1,596 @@
+package sort;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * TimSort 是一种自适应的自然归并排序，对基本有序的输入接近O(N)。
+ * <p>
+ * 排序流程：
+ * (1) 从左到右找出已有的有序段（run），严格降序的段原地反转成升序；
+ * (2) 长度不足 minRun 的段用二分插入排序补齐到 minRun；
+ * (3) 每个段压入栈，并保持栈顶三段满足 len[i-2] > len[i-1] + len[i] 且 len[i-1] > len[i]，
+ * 否则合并相邻的段，保证归并是平衡的；
+ * (4) 归并时先用二分查找跳过已经在最终位置上的前缀、后缀，
+ * 然后逐个比较；一边连续胜出 minGallop 次后进入"飞奔"模式（galloping），
+ * 用倍增+二分查找一次拷贝一整块。
+ * <p>
+ * TimSort 是稳定的算法
+ * TimSort 的最差时间分析是O(N*logN)
+ * TimSort 的时间复杂度是O(N)（已有序）~O(N*logN)
+ * TimSort 的空间复杂度是O(N)
+ */
+public class TimSort<T> {
+
+    /**
+     * 区间长度小于该值时直接二分插入排序
+     */
+    private static final int MIN_MERGE = 32;
+
+    /**
+     * 进入飞奔模式的初始阈值
+     */
+    private static final int MIN_GALLOP = 7;
+
+    private final T[] a;
+    private final Comparator<? super T> c;
+    private int minGallop = MIN_GALLOP;
+    private T[] tmp;
+
+    // 待归并的段：第 i 段从 runBase[i] 开始，长度为 runLen[i]
+    private int stackSize = 0;
+    private final int[] runBase;
+    private final int[] runLen;
+
+    private TimSort(T[] a, Comparator<? super T> c, int length) {
+        this.a = a;
+        this.c = c;
+        this.tmp = SortUtil.newArray(a, Math.min(length, 256));
+        // 栈中段长度至少按斐波那契数增长，49 足够容纳 Integer.MAX_VALUE 个元素
+        int stackLen = length < 120 ? 5 : length < 1542 ? 10 : length < 119151 ? 24 : 49;
+        runBase = new int[stackLen];
+        runLen = new int[stackLen];
+    }
+
+    /**
+     * TimSort 排序
+     *
+     * @param a 需要排序的数组
+     */
+    public static void timSort(Comparable[] a) {
+        timSort(a, 0, a.length, SortUtil.naturalOrder());
+    }
+
+    /**
+     * 对 [from, to) 区间 TimSort 排序
+     *
+     * @param a    需要排序的数组
+     * @param from 区间开始位置（包含）
+     * @param to   区间结束位置（不包含）
+     * @param c    比较器
+     */
+    public static <T> void timSort(T[] a, int from, int to, Comparator<? super T> c) {
+        SortUtil.rangeCheck(a.length, from, to);
+        int remaining = to - from;
+        if (remaining < 2) {
+            return;
+        }
+
+        if (remaining < MIN_MERGE) {  // 小数组：找出开头的有序段，再二分插入剩余部分
+            int initRunLen = countRunAndMakeAscending(a, from, to, c);
+            binaryInsertSort(a, from, to, from + initRunLen, c);
+            return;
+        }
+
+        TimSort<T> ts = new TimSort<>(a, c, remaining);
+        int minRun = minRunLength(remaining);
+        int lo = from;
+        do {
+            int runLen = countRunAndMakeAscending(a, lo, to, c);
+            if (runLen < minRun) {  // 段太短，用二分插入补齐到 minRun
+                int force = remaining <= minRun ? remaining : minRun;
+                binaryInsertSort(a, lo, lo + force, lo + runLen, c);
+                runLen = force;
+            }
+            ts.pushRun(lo, runLen);
+            ts.mergeCollapse();
+
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+
+        ts.mergeForceCollapse();
+    }
+
+    /**
+     * 二分插入排序，[lo, start) 已有序，把 [start, hi) 逐个插入
+     * 相等元素插入到已有元素之后，保证稳定
+     */
+    private static <T> void binaryInsertSort(T[] a, int lo, int hi, int start, Comparator<? super T> c) {
+        if (start == lo) {
+            start++;
+        }
+        for (; start < hi; start++) {
+            T pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (c.compare(pivot, a[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+     * 返回从 lo 开始的有序段长度，严格降序的段会被原地反转
+     * （非严格降序反转后会破坏稳定性，所以只认严格降序）
+     */
+    private static <T> int countRunAndMakeAscending(T[] a, int lo, int hi, Comparator<? super T> c) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (c.compare(a[runHi++], a[lo]) < 0) {  // 降序
+            while (runHi < hi && c.compare(a[runHi], a[runHi - 1]) < 0) {
+                runHi++;
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                SortUtil.swap(a, i, j);
+            }
+        } else {  // 升序
+            while (runHi < hi && c.compare(a[runHi], a[runHi - 1]) >= 0) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * 最小段长度：取 n 的最高6位，若剩余位中有1则加1，
+     * 使 n / minRun 恰好是或略小于2的幂，归并最平衡
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    private void pushRun(int base, int len) {
+        runBase[stackSize] = base;
+        runLen[stackSize] = len;
+        stackSize++;
+    }
+
+    /**
+     * 检查栈顶的段，直到满足：
+     * runLen[i - 3] > runLen[i - 2] + runLen[i - 1]
+     * runLen[i - 2] > runLen[i - 1]
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if ((n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1])
+                    || (n > 1 && runLen[n - 2] <= runLen[n - 1] + runLen[n])) {
+                if (runLen[n - 1] < runLen[n + 1]) {
+                    n--;
+                }
+            } else if (runLen[n] > runLen[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * 合并栈中剩余的所有段
+     */
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * 合并栈中第 i 段和第 i + 1 段
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int len1 = runLen[i];
+        int base2 = runBase[i + 1];
+        int len2 = runLen[i + 1];
+
+        runLen[i] = len1 + len2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        stackSize--;
+
+        // 第二段第一个元素在第一段中的位置，之前的元素已经在最终位置上
+        int k = gallopRight(a[base2], a, base1, len1, 0, c);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+
+        // 第一段最后一个元素在第二段中的位置，之后的元素已经在最终位置上
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, len2 - 1, c);
+        if (len2 == 0) {
+            return;
+        }
+
+        // 用较短的一段作为临时数组
+        if (len1 <= len2) {
+            mergeLo(base1, len1, base2, len2);
+        } else {
+            mergeHi(base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     * 在有序区间 [base, base + len) 中查找 key 的插入位置（相等时插在最左边），
+     * 从 hint 处开始倍增试探，再二分查找
+     *
+     * @return k，满足 a[base + k - 1] < key <= a[base + k]
+     */
+    private static <T> int gallopLeft(T key, T[] a, int base, int len, int hint, Comparator<? super T> c) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (c.compare(key, a[base + hint]) > 0) {  // 向右试探
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && c.compare(key, a[base + hint + ofs]) > 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {  // 溢出
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            lastOfs += hint;
+            ofs += hint;
+        } else {  // 向左试探
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && c.compare(key, a[base + hint - ofs]) <= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            int t = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - t;
+        }
+
+        // 此时 a[base + lastOfs] < key <= a[base + ofs]，在 (lastOfs, ofs] 中二分
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (c.compare(key, a[base + m]) > 0) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * 与 gallopLeft 相同，但相等时插在最右边
+     *
+     * @return k，满足 a[base + k - 1] <= key < a[base + k]
+     */
+    private static <T> int gallopRight(T key, T[] a, int base, int len, int hint, Comparator<? super T> c) {
+        int ofs = 1;
+        int lastOfs = 0;
+        if (c.compare(key, a[base + hint]) < 0) {  // 向左试探
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && c.compare(key, a[base + hint - ofs]) < 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            int t = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - t;
+        } else {  // 向右试探
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && c.compare(key, a[base + hint + ofs]) >= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            lastOfs += hint;
+            ofs += hint;
+        }
+
+        // 此时 a[base + lastOfs] <= key < a[base + ofs]，在 (lastOfs, ofs] 中二分
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (c.compare(key, a[base + m]) < 0) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * 从左往右归并，len1 <= len2，第一段拷贝到临时数组
+     * 调用前已保证：a[base1] > a[base2]，且第一段最后一个元素大于第二段所有元素
+     */
+    private void mergeLo(int base1, int len1, int base2, int len2) {
+        T[] a = this.a;
+        T[] tmp = ensureCapacity(len1);
+        System.arraycopy(a, base1, tmp, 0, len1);
+        int cursor1 = 0;       // tmp 中的位置
+        int cursor2 = base2;   // a 中第二段的位置
+        int dest = base1;      // 写入位置
+
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+
+        Comparator<? super T> c = this.c;
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;  // 第一段连续胜出的次数
+            int count2 = 0;  // 第二段连续胜出的次数
+
+            // 逐个比较，直到某一段连续胜出 minGallop 次
+            do {
+                if (c.compare(a[cursor2], tmp[cursor1]) < 0) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+
+            // 飞奔模式：整块拷贝，直到两边的块都短于 MIN_GALLOP
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0, c);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0, c);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (minGallop < 0) {
+                minGallop = 0;
+            }
+            minGallop += 2;  // 离开飞奔模式的惩罚
+        }
+        this.minGallop = minGallop < 1 ? 1 : minGallop;
+
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];  // 第一段最后一个元素最大
+        } else if (len1 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract!");
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * 从右往左归并，len1 > len2，第二段拷贝到临时数组
+     * 调用前已保证：a[base1] > a[base2]，且第一段最后一个元素大于第二段所有元素
+     */
+    private void mergeHi(int base1, int len1, int base2, int len2) {
+        T[] a = this.a;
+        T[] tmp = ensureCapacity(len2);
+        System.arraycopy(a, base2, tmp, 0, len2);
+
+        int cursor1 = base1 + len1 - 1;  // a 中第一段的位置
+        int cursor2 = len2 - 1;          // tmp 中的位置
+        int dest = base2 + len2 - 1;     // 写入位置
+
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+
+        Comparator<? super T> c = this.c;
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+
+            do {
+                if (c.compare(tmp[cursor2], a[cursor1]) < 0) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1, c);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1, c);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            if (minGallop < 0) {
+                minGallop = 0;
+            }
+            minGallop += 2;
+        }
+        this.minGallop = minGallop < 1 ? 1 : minGallop;
+
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];  // 第二段第一个元素最小
+        } else if (len2 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract!");
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+
+    /**
+     * 临时数组按需扩容，容量翻倍
+     */
+    private T[] ensureCapacity(int minCapacity) {
+        if (tmp.length < minCapacity) {
+            int newSize = Integer.highestOneBit(minCapacity) << 1;
+            if (newSize < 0) {  // 溢出
+                newSize = minCapacity;
+            } else {
+                newSize = Math.min(newSize, a.length >>> 1);
+            }
+            tmp = SortUtil.newArray(a, Math.max(newSize, minCapacity));
+        }
+        return tmp;
+    }
+
+    public static void main(String[] args) {
+        // 基本有序：在有序数组末尾追加少量乱序元素，模拟追加写入的批次
+        int length = 1000000;
+        Integer[] a = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = i;
+        }
+        Random random = new Random();
+        for (int i = 0; i < length / 1000; i++) {
+            a[random.nextInt(length)] = random.nextInt(length);
+        }
+        Integer[] b = a.clone();
+        Integer[] c = a.clone();
+
+        long start = System.currentTimeMillis();
+        timSort(a);
+        long end = System.currentTimeMillis();
+        System.out.println("TimSort 耗时：" + (end - start) + "毫秒");
+        System.out.println(SortUtil.isMonotoneInc(a));
+
+        start = System.currentTimeMillis();
+        MergeSort.mergeSort(b, 0, b.length - 1);
+        end = System.currentTimeMillis();
+        System.out.println("归并排序耗时：" + (end - start) + "毫秒");
+
+        start = System.currentTimeMillis();
+        QuickSort.introSort(c, 0, c.length - 1);
+        end = System.currentTimeMillis();
+        System.out.println("内省排序耗时：" + (end - start) + "毫秒");
+    }
+}
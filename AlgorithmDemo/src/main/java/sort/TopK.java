@@ -0,0 +1,237 @@
+package sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * 流式 Top-K，从迭代器或流中取出最小（或最大）的k个元素，内存中只保留k个元素。
+ * <p>
+ * 用一个容量为k的堆保存当前的候选结果，堆顶是候选中排名最靠后的元素：
+ * (1) 堆未满时直接加入并向上调整；
+ * (2) 堆满后新元素只有排在堆顶之前才替换堆顶并向下调整，否则直接丢弃；
+ * (3) 输入结束后对堆原地做一次堆排序，得到按排名先后的结果。
+ * <p>
+ * 数据已经全部在数组中时，用 {@link QuickSelect#partialSort} 更快。
+ * <p>
+ * 流式 Top-K 的时间复杂度是O(N*logk)
+ * 流式 Top-K 的空间复杂度是O(k)
+ */
+public class TopK {
+
+    /**
+     * 堆的初始容量，k 很大而输入很少时避免一次分配k个元素
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * 取出最小的k个元素
+     *
+     * @param it 输入
+     * @param k  元素个数
+     * @param c  比较器
+     * @return 按升序排列的最多k个元素
+     */
+    public static <T> List<T> smallest(Iterator<? extends T> it, int k, Comparator<? super T> c) {
+        checkCount(k);
+        if (k == 0) {
+            return new ArrayList<>();
+        }
+        Object[] heap = new Object[Math.min(k, INITIAL_CAPACITY)];
+        int size = 0;
+        while (it.hasNext()) {
+            T x = it.next();
+            if (size < k) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * size));
+                }
+                heap[size] = x;
+                adjustUp(heap, size++, c);
+            } else if (c.compare(x, elementAt(heap, 0)) < 0) {
+                heap[0] = x;
+                adjustDown(heap, 0, size, c);
+            }
+        }
+        for (int i = size - 1; i > 0; i--) {  // 堆排序：依次把堆顶（最大值）放到末尾
+            Object top = heap[0];
+            heap[0] = heap[i];
+            heap[i] = top;
+            adjustDown(heap, 0, i, c);
+        }
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(elementAt(heap, i));
+        }
+        return result;
+    }
+
+    /**
+     * 取出最大的k个元素
+     *
+     * @param it 输入
+     * @param k  元素个数
+     * @param c  比较器
+     * @return 按降序排列的最多k个元素
+     */
+    public static <T> List<T> largest(Iterator<? extends T> it, int k, Comparator<? super T> c) {
+        return smallest(it, k, Collections.reverseOrder(c));
+    }
+
+    /**
+     * 大根堆（按比较器）向上调整
+     */
+    private static <T> void adjustUp(Object[] heap, int current, Comparator<? super T> c) {
+        T data = elementAt(heap, current);
+        while (current > 0) {
+            int parent = (current - 1) >>> 1;
+            if (c.compare(elementAt(heap, parent), data) >= 0) {
+                break;
+            }
+            heap[current] = heap[parent];
+            current = parent;
+        }
+        heap[current] = data;
+    }
+
+    /**
+     * 大根堆（按比较器）向下调整
+     */
+    private static <T> void adjustDown(Object[] heap, int current, int size, Comparator<? super T> c) {
+        T data = elementAt(heap, current);
+        int child;
+        while ((child = 2 * current + 1) < size) {
+            if (child + 1 < size && c.compare(elementAt(heap, child), elementAt(heap, child + 1)) < 0) {
+                child++;
+            }
+            if (c.compare(data, elementAt(heap, child)) >= 0) {
+                break;
+            }
+            heap[current] = heap[child];
+            current = child;
+        }
+        heap[current] = data;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T elementAt(Object[] heap, int i) {
+        return (T) heap[i];
+    }
+
+    /**
+     * 取出最小的k个元素（int 版本，不装箱）
+     *
+     * @param stream 输入
+     * @param k      元素个数
+     * @return 按升序排列的最多k个元素
+     */
+    public static int[] smallest(IntStream stream, int k) {
+        return topK(stream.iterator(), k, false);
+    }
+
+    /**
+     * 取出最大的k个元素（int 版本，不装箱）
+     *
+     * @param stream 输入
+     * @param k      元素个数
+     * @return 按降序排列的最多k个元素
+     */
+    public static int[] largest(IntStream stream, int k) {
+        return topK(stream.iterator(), k, true);
+    }
+
+    /**
+     * 堆顶是候选中排名最靠后的元素：取最小时是大根堆，取最大时是小根堆
+     */
+    private static int[] topK(PrimitiveIterator.OfInt it, int k, boolean largest) {
+        checkCount(k);
+        if (k == 0) {
+            return new int[0];
+        }
+        int[] heap = new int[Math.min(k, INITIAL_CAPACITY)];
+        int size = 0;
+        while (it.hasNext()) {
+            int x = it.nextInt();
+            if (size < k) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * size));
+                }
+                heap[size] = x;
+                adjustUp(heap, size++, largest);
+            } else if (before(x, heap[0], largest)) {
+                heap[0] = x;
+                adjustDown(heap, 0, size, largest);
+            }
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int top = heap[0];
+            heap[0] = heap[i];
+            heap[i] = top;
+            adjustDown(heap, 0, i, largest);
+        }
+        return size == heap.length ? heap : Arrays.copyOf(heap, size);
+    }
+
+    /**
+     * x 的排名是否在 y 之前
+     */
+    private static boolean before(int x, int y, boolean largest) {
+        return largest ? x > y : x < y;
+    }
+
+    private static void adjustUp(int[] heap, int current, boolean largest) {
+        int data = heap[current];
+        while (current > 0) {
+            int parent = (current - 1) >>> 1;
+            if (!before(heap[parent], data, largest)) {
+                break;
+            }
+            heap[current] = heap[parent];
+            current = parent;
+        }
+        heap[current] = data;
+    }
+
+    private static void adjustDown(int[] heap, int current, int size, boolean largest) {
+        int data = heap[current];
+        int child;
+        while ((child = 2 * current + 1) < size) {
+            if (child + 1 < size && before(heap[child], heap[child + 1], largest)) {
+                child++;
+            }
+            if (!before(data, heap[child], largest)) {
+                break;
+            }
+            heap[current] = heap[child];
+            current = child;
+        }
+        heap[current] = data;
+    }
+
+    private static void checkCount(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+    }
+
+    public static void main(String[] args) {
+        int length = 10000000;
+        int k = 10;
+        Random random = new Random();
+
+        long start = System.currentTimeMillis();
+        int[] top = largest(random.ints(length, 0, Integer.MAX_VALUE), k);
+        long end = System.currentTimeMillis();
+        System.out.println("从" + length + "个元素中取最大的" + k + "个耗时：" + (end - start) + "毫秒");
+        System.out.println(Arrays.toString(top));
+
+        List<String> words = Arrays.asList("pear", "apple", "fig", "banana", "kiwi", "cherry", "grape");
+        System.out.println(smallest(words.iterator(), 3, Comparator.comparingInt(String::length)));
+        System.out.println(largest(words.iterator(), 3, Comparator.<String>naturalOrder()));
+    }
+}
@@ -0,0 +1,117 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sort.HeapSort;
+import sort.MergeSort;
+import sort.QuickSort;
+import sort.SampleSort;
+import sort.ShellSort;
+import sort.TimSort;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparable[]（Integer[]）排序基准测试（O(N*logN) 的算法）
+ * <p>
+ * 每次调用都先复制一份输入再排序，复制的开销可以参考 copy 方法的结果。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class ComparableSortBenchmark {
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param
+    public Distribution distribution;
+
+    private Integer[] source;
+
+    @Setup
+    public void setup() {
+        source = distribution.integers(size);
+    }
+
+    @Benchmark
+    public Integer[] copy() {
+        return source.clone();
+    }
+
+    @Benchmark
+    public Integer[] jdkSort() {
+        Integer[] a = source.clone();
+        Arrays.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] shellSort() {
+        Integer[] a = source.clone();
+        ShellSort.shellSort(a, 3);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] shellSortCiura() {
+        Integer[] a = source.clone();
+        ShellSort.shellSort(a, ShellSort.GapSequence.CIURA);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] introSort() {
+        Integer[] a = source.clone();
+        QuickSort.introSort(a, 0, a.length - 1);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] mergeSort() {
+        Integer[] a = source.clone();
+        MergeSort.mergeSort(a, 0, a.length - 1);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] parallelMergeSort() {
+        Integer[] a = source.clone();
+        MergeSort.parallelMergeSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] sampleSort() {
+        Integer[] a = source.clone();
+        SampleSort.sampleSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] heapSort() {
+        Integer[] a = source.clone();
+        HeapSort.heapSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] timSort() {
+        Integer[] a = source.clone();
+        TimSort.timSort(a);
+        return a;
+    }
+}
@@ -0,0 +1,136 @@
+package benchmark;
+
+import linear.ConcurrentDoubleLink;
+import linear.DoubleLink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发双端队列在竞争下的吞吐量对比：ConcurrentDoubleLink、ConcurrentLinkedDeque 和加 synchronized 的 {@link DoubleLink}。
+ * <p>
+ * 所有线程共享一个预先放入 initialSize 个元素的链表，每次调用插入一个元素再删除一个元素，结果是一对操作的吞吐量：
+ * fifo 在表尾插入、表头删除（任务队列）；lifo 在表头插入、表头删除（栈）；
+ * mixed 随机选择两端（调度器的本地队列加窃取）。
+ * <p>
+ * 默认8个线程，用 -t 指定线程数比较不同竞争程度，例如依次运行：
+ * ConcurrentDequeBenchmark -t 1，-t 4，-t 16，-t 64
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(8)
+@Fork(1)
+public class ConcurrentDequeBenchmark {
+
+    private static final Integer ELEMENT = 1;
+
+    @Param({"1024"})
+    public int initialSize;
+
+    @Param({"fifo", "lifo", "mixed"})
+    public String pattern;
+
+    private ConcurrentDoubleLink<Integer> concurrentLink;
+    private ConcurrentLinkedDeque<Integer> deque;
+    private DoubleLink<Integer> link;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        concurrentLink = new ConcurrentDoubleLink<>();
+        deque = new ConcurrentLinkedDeque<>();
+        link = new DoubleLink<>();
+        for (int i = 0; i < initialSize; i++) {
+            concurrentLink.appendLast(ELEMENT);
+            deque.addLast(ELEMENT);
+            link.appendLast(ELEMENT);
+        }
+    }
+
+    /**
+     * 每个线程独立的随机数，mixed 模式下选择两端
+     */
+    @State(Scope.Thread)
+    public static class Ends {
+        private int seed = (int) System.nanoTime() | 1;
+
+        /**
+         * @return 0-3：低位选择插入的一端，高位选择删除的一端
+         */
+        int next(String pattern) {
+            switch (pattern) {
+                case "fifo":
+                    return 1;
+                case "lifo":
+                    return 0;
+                default:
+                    seed ^= seed << 13;
+                    seed ^= seed >>> 17;
+                    seed ^= seed << 5;
+                    return seed & 3;
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer concurrentDoubleLink(Ends ends) {
+        int e = ends.next(pattern);
+        if ((e & 1) == 0) {
+            concurrentLink.insertFirst(ELEMENT);
+        } else {
+            concurrentLink.appendLast(ELEMENT);
+        }
+        return (e & 2) == 0 ? concurrentLink.pollFirst() : concurrentLink.pollLast();
+    }
+
+    @Benchmark
+    public Integer concurrentLinkedDeque(Ends ends) {
+        int e = ends.next(pattern);
+        if ((e & 1) == 0) {
+            deque.addFirst(ELEMENT);
+        } else {
+            deque.addLast(ELEMENT);
+        }
+        return (e & 2) == 0 ? deque.pollFirst() : deque.pollLast();
+    }
+
+    @Benchmark
+    public Integer synchronizedDoubleLink(Ends ends) {
+        int e = ends.next(pattern);
+        synchronized (link) {
+            if ((e & 1) == 0) {
+                link.insertFirst(ELEMENT);
+            } else {
+                link.appendLast(ELEMENT);
+            }
+        }
+        synchronized (link) {
+            if (link.isEmpty()) {
+                return null;
+            }
+            if ((e & 2) == 0) {
+                Integer ret = link.getFirst();
+                link.deleteFirst();
+                return ret;
+            }
+            Integer ret = link.getLast();
+            link.deleteLast();
+            return ret;
+        }
+    }
+}
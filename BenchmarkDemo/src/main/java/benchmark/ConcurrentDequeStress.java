@@ -0,0 +1,149 @@
+package benchmark;
+
+import linear.ConcurrentDoubleLink;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ConcurrentDoubleLink} 的压力测试，多个线程同时在两端插入、删除后检查结果：
+ * (1) 随机操作：每个线程随机在两端插入、删除，结束后取出剩余元素，每个插入的元素必须恰好被取出一次；
+ * (2) 队列：生产者 appendLast、消费者 pollFirst，每个消费者看到的同一生产者的元素必须是递增的；
+ * (3) 反向队列：生产者 insertFirst、消费者 pollLast，检查同上。
+ * <p>
+ * 参数：线程数（默认 CPU 核数的2倍，至少4）、每个线程的操作次数（默认1000000）
+ */
+public class ConcurrentDequeStress {
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        int ops = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+
+        long start = System.currentTimeMillis();
+        randomOps(threads, ops);
+        ordered(threads, ops, false);
+        ordered(threads, ops, true);
+        long end = System.currentTimeMillis();
+        System.out.println(threads + "个线程，每个线程" + ops + "次操作，全部通过，耗时：" + (end - start) + "毫秒");
+    }
+
+    /**
+     * 元素编码为 线程号 * ops + 序号，ops 不超过 Integer.MAX_VALUE / threads
+     */
+    private static void randomOps(int threads, int ops) throws InterruptedException {
+        ConcurrentDoubleLink<Integer> deque = new ConcurrentDoubleLink<>();
+        AtomicIntegerArray seen = new AtomicIntegerArray(threads * ops);
+        run(threads, id -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < ops; i++) {
+                int value = id * ops + i;
+                if (random.nextBoolean()) {
+                    deque.insertFirst(value);
+                } else {
+                    deque.appendLast(value);
+                }
+                if (random.nextInt(3) != 0) {  // 删除比插入少，链表保持一定长度
+                    Integer e = random.nextBoolean() ? deque.pollFirst() : deque.pollLast();
+                    if (e != null) {
+                        seen.incrementAndGet(e);
+                    }
+                }
+            }
+        });
+        for (Integer e; (e = deque.pollFirst()) != null; ) {
+            seen.incrementAndGet(e);
+        }
+        for (int i = 0; i < seen.length(); i++) {
+            check(seen.get(i) == 1, "元素 " + i + " 被取出 " + seen.get(i) + " 次");
+        }
+        check(deque.isEmpty() && deque.size() == 0, "取完后链表不为空");
+    }
+
+    /**
+     * 一半线程生产、一半线程消费，reverse 为 true 时从表头插入、从表尾取出
+     */
+    private static void ordered(int threads, int ops, boolean reverse) throws InterruptedException {
+        int producers = Math.max(1, threads / 2);
+        int consumers = Math.max(1, threads - producers);
+        long total = (long) producers * ops;
+        ConcurrentDoubleLink<Long> deque = new ConcurrentDoubleLink<>();
+        AtomicIntegerArray seen = new AtomicIntegerArray(producers * ops);
+        AtomicLong consumed = new AtomicLong();
+        run(producers + consumers, id -> {
+            if (id < producers) {
+                for (int i = 0; i < ops; i++) {
+                    long value = (long) id << 32 | i;
+                    if (reverse) {
+                        deque.insertFirst(value);
+                    } else {
+                        deque.appendLast(value);
+                    }
+                }
+                return;
+            }
+            int[] lastSeq = new int[producers];
+            Arrays.fill(lastSeq, -1);
+            while (consumed.get() < total) {
+                Long e = reverse ? deque.pollLast() : deque.pollFirst();
+                if (e == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                consumed.incrementAndGet();
+                int producer = (int) (e >>> 32);
+                int seq = (int) (long) e;
+                check(seq > lastSeq[producer], "生产者 " + producer + " 的元素 " + seq + " 在 " + lastSeq[producer] + " 之后取出");
+                lastSeq[producer] = seq;
+                seen.incrementAndGet(producer * ops + seq);
+            }
+        });
+        for (int i = 0; i < seen.length(); i++) {
+            check(seen.get(i) == 1, "元素 " + i + " 被取出 " + seen.get(i) + " 次");
+        }
+        check(deque.isEmpty(), "取完后链表不为空");
+    }
+
+    private interface Task {
+        void run(int id);
+    }
+
+    /**
+     * 启动 threads 个线程同时开始执行 task，任一线程失败时抛出异常
+     */
+    private static void run(int threads, Task task) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        Throwable[] failure = new Throwable[1];
+        for (int i = 0; i < threads; i++) {
+            int id = i;
+            workers[i] = new Thread(() -> {
+                try {
+                    ready.await();
+                    task.run(id);
+                } catch (Throwable e) {
+                    synchronized (failure) {
+                        failure[0] = e;
+                    }
+                }
+            });
+            workers[i].start();
+        }
+        ready.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure[0] != null) {
+            throw new AssertionError(failure[0]);
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
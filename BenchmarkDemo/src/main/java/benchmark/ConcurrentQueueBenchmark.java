@@ -0,0 +1,180 @@
+package benchmark;
+
+import linear.MpmcQueue;
+import linear.Queue;
+import linear.SpscQueue;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发队列吞吐量对比：SpscQueue、MpmcQueue、ArrayBlockingQueue 和加 synchronized 的 {@link Queue}。
+ * <p>
+ * 每组线程共享一个队列，生产者线程不断入队、消费者线程不断出队，队列满或空时立即返回并计数，不阻塞。
+ * 结果中 offer/poll 的吞吐量是总调用次数，实际传递的元素数要减去 offerFailed/pollFailed。
+ * spsc、synchronizedQueue、abq 各一个生产者一个消费者；mpmc、abqMpmc 各两个生产者两个消费者。
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConcurrentQueueBenchmark {
+
+    private static final Integer ELEMENT = 1;
+
+    @Param({"1024"})
+    public int capacity;
+
+    private SpscQueue<Integer> spsc;
+    private MpmcQueue<Integer> mpmc;
+    private ArrayBlockingQueue<Integer> abq;
+    private Queue<Integer> queue;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        spsc = new SpscQueue<>(capacity);
+        mpmc = new MpmcQueue<>(capacity);
+        abq = new ArrayBlockingQueue<>(capacity);
+        queue = new Queue<>(Integer.class, capacity);
+    }
+
+    /**
+     * 每个线程失败的 offer/poll 次数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long offerFailed;
+        public long pollFailed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            offerFailed = 0;
+            pollFailed = 0;
+        }
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public boolean spscOffer(Counters counters) {
+        boolean ok = spsc.offer(ELEMENT);
+        if (!ok) {
+            counters.offerFailed++;
+        }
+        return ok;
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public Integer spscPoll(Counters counters) {
+        Integer e = spsc.poll();
+        if (e == null) {
+            counters.pollFailed++;
+        }
+        return e;
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(2)
+    public boolean mpmcOffer(Counters counters) {
+        boolean ok = mpmc.offer(ELEMENT);
+        if (!ok) {
+            counters.offerFailed++;
+        }
+        return ok;
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(2)
+    public Integer mpmcPoll(Counters counters) {
+        Integer e = mpmc.poll();
+        if (e == null) {
+            counters.pollFailed++;
+        }
+        return e;
+    }
+
+    @Benchmark
+    @Group("abq")
+    @GroupThreads(1)
+    public boolean abqOffer(Counters counters) {
+        boolean ok = abq.offer(ELEMENT);
+        if (!ok) {
+            counters.offerFailed++;
+        }
+        return ok;
+    }
+
+    @Benchmark
+    @Group("abq")
+    @GroupThreads(1)
+    public Integer abqPoll(Counters counters) {
+        Integer e = abq.poll();
+        if (e == null) {
+            counters.pollFailed++;
+        }
+        return e;
+    }
+
+    @Benchmark
+    @Group("abqMpmc")
+    @GroupThreads(2)
+    public boolean abqMpmcOffer(Counters counters) {
+        return abqOffer(counters);
+    }
+
+    @Benchmark
+    @Group("abqMpmc")
+    @GroupThreads(2)
+    public Integer abqMpmcPoll(Counters counters) {
+        return abqPoll(counters);
+    }
+
+    @Benchmark
+    @Group("synchronizedQueue")
+    @GroupThreads(1)
+    public boolean queueOffer(Counters counters) {
+        synchronized (queue) {
+            if (queue.size() < capacity) {
+                queue.add(ELEMENT);
+                return true;
+            }
+        }
+        counters.offerFailed++;
+        return false;
+    }
+
+    @Benchmark
+    @Group("synchronizedQueue")
+    @GroupThreads(1)
+    public Integer queuePoll(Counters counters) {
+        synchronized (queue) {
+            if (!queue.isEmpty()) {
+                return queue.pop();
+            }
+        }
+        counters.pollFailed++;
+        return null;
+    }
+}
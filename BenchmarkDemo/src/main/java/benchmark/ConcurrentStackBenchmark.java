@@ -0,0 +1,107 @@
+package benchmark;
+
+import linear.ConcurrentStack;
+import linear.Stack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发栈在竞争下的吞吐量对比：带消除数组的 ConcurrentStack、不带消除的 Treiber 栈、
+ * 加 synchronized 的 {@link Stack} 和 ConcurrentLinkedDeque（push/poll 在队首操作）。
+ * <p>
+ * 模拟对象池：所有线程共享一个预先放入 poolSize 个对象的栈，每次调用借出一个对象（pop）再归还（push），
+ * 池空时新建对象。结果是 pop + push 一对操作的吞吐量。
+ * <p>
+ * 默认8个线程，用 -t 指定线程数比较不同竞争程度，例如依次运行：
+ * ConcurrentStackBenchmark -t 1，-t 4，-t 16，-t 64
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Threads(8)
+@Fork(1)
+public class ConcurrentStackBenchmark {
+
+    @Param({"1024"})
+    public int poolSize;
+
+    private ConcurrentStack<Object> elimination;
+    private ConcurrentStack<Object> treiber;
+    private Stack<Object> stack;
+    private ConcurrentLinkedDeque<Object> deque;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        elimination = new ConcurrentStack<>();
+        treiber = new ConcurrentStack<>(0);
+        stack = new Stack<>(Object.class, poolSize);
+        deque = new ConcurrentLinkedDeque<>();
+        for (int i = 0; i < poolSize; i++) {
+            elimination.push(new Object());
+            treiber.push(new Object());
+            stack.push(new Object());
+            deque.push(new Object());
+        }
+    }
+
+    @Benchmark
+    public Object elimination() {
+        Object o = elimination.poll();
+        if (o == null) {
+            o = new Object();
+        }
+        elimination.push(o);
+        return o;
+    }
+
+    @Benchmark
+    public Object treiber() {
+        Object o = treiber.poll();
+        if (o == null) {
+            o = new Object();
+        }
+        treiber.push(o);
+        return o;
+    }
+
+    @Benchmark
+    public Object synchronizedStack() {
+        Object o;
+        synchronized (stack) {
+            o = stack.isEmpty() ? null : stack.pop();
+        }
+        if (o == null) {
+            o = new Object();
+        }
+        synchronized (stack) {
+            stack.push(o);
+        }
+        return o;
+    }
+
+    @Benchmark
+    public Object concurrentLinkedDeque() {
+        Object o = deque.poll();
+        if (o == null) {
+            o = new Object();
+        }
+        deque.push(o);
+        return o;
+    }
+}
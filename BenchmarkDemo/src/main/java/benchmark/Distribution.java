@@ -0,0 +1,95 @@
+package benchmark;
+
+import java.util.Random;
+
+/**
+ * 基准测试的输入数据分布
+ */
+public enum Distribution {
+    /**
+     * 均匀随机
+     */
+    RANDOM {
+        @Override
+        int value(int i, int size, Random random) {
+            return random.nextInt();
+        }
+    },
+    /**
+     * 已排序
+     */
+    SORTED {
+        @Override
+        int value(int i, int size, Random random) {
+            return i;
+        }
+    },
+    /**
+     * 逆序
+     */
+    REVERSED {
+        @Override
+        int value(int i, int size, Random random) {
+            return size - i;
+        }
+    },
+    /**
+     * 只有少量不同的值
+     */
+    FEW_UNIQUE {
+        @Override
+        int value(int i, int size, Random random) {
+            return random.nextInt(16);
+        }
+    },
+    /**
+     * 先升后降（风琴管）
+     */
+    ORGAN_PIPE {
+        @Override
+        int value(int i, int size, Random random) {
+            return i < size / 2 ? i : size - i;
+        }
+    };
+
+    abstract int value(int i, int size, Random random);
+
+    /**
+     * 生成数据，固定随机种子保证每次运行输入相同
+     */
+    public int[] ints(int size) {
+        Random random = new Random(42);
+        int[] a = new int[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = value(i, size, random);
+        }
+        return a;
+    }
+
+    public long[] longs(int size) {
+        int[] ints = ints(size);
+        long[] a = new long[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = (long) ints[i] << 16;
+        }
+        return a;
+    }
+
+    public double[] doubles(int size) {
+        int[] ints = ints(size);
+        double[] a = new double[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = ints[i] / 1024.0;
+        }
+        return a;
+    }
+
+    public Integer[] integers(int size) {
+        int[] ints = ints(size);
+        Integer[] a = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = ints[i];
+        }
+        return a;
+    }
+}
@@ -0,0 +1,124 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sort.BucketSort;
+import sort.HeapSort;
+import sort.MergeSort;
+import sort.QuickSort;
+import sort.SampleSort;
+import sort.ShellSort;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * long[] 排序基准测试（O(N*logN) 及线性时间的算法）
+ * <p>
+ * 每次调用都先复制一份输入再排序，复制的开销可以参考 copy 方法的结果。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class LongSortBenchmark {
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param
+    public Distribution distribution;
+
+    private long[] source;
+
+    @Setup
+    public void setup() {
+        source = distribution.longs(size);
+    }
+
+    @Benchmark
+    public long[] copy() {
+        return source.clone();
+    }
+
+    @Benchmark
+    public long[] jdkSort() {
+        long[] a = source.clone();
+        Arrays.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public long[] shellSort() {
+        long[] a = source.clone();
+        ShellSort.shellSort(a, 3);
+        return a;
+    }
+
+    @Benchmark
+    public long[] shellSortCiura() {
+        long[] a = source.clone();
+        ShellSort.shellSort(a, ShellSort.GapSequence.CIURA);
+        return a;
+    }
+
+    @Benchmark
+    public long[] introSort() {
+        long[] a = source.clone();
+        QuickSort.introSort(a, 0, a.length - 1);
+        return a;
+    }
+
+    @Benchmark
+    public long[] mergeSort() {
+        long[] a = source.clone();
+        MergeSort.mergeSort(a, 0, a.length - 1);
+        return a;
+    }
+
+    @Benchmark
+    public long[] heapSort() {
+        long[] a = source.clone();
+        HeapSort.heapSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public long[] bucketSort() {
+        long[] a = source.clone();
+        BucketSort.bucketSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public long[] parallelBucketSort() {
+        long[] a = source.clone();
+        BucketSort.bucketSort(a, true);
+        return a;
+    }
+
+    @Benchmark
+    public long[] sampleSort() {
+        long[] a = source.clone();
+        SampleSort.sampleSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public long[] radixSort() {
+        long[] a = source.clone();
+        BucketSort.radixSort(a);
+        return a;
+    }
+}
@@ -0,0 +1,115 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sort.BubbleSort;
+import sort.InsertSort;
+import sort.QuickSort;
+import sort.SelectionSort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O(N2) 算法的基准测试，int[] 与 Integer[] 两种元素类型。
+ * 基础版快速排序在已排序输入上退化为O(N2)且递归深度为N，因此也放在这里。
+ * <p>
+ * 每次调用都先复制一份输入再排序，复制的开销可以参考 copy 方法的结果。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QuadraticSortBenchmark {
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param
+    public Distribution distribution;
+
+    private int[] ints;
+    private Integer[] integers;
+
+    @Setup
+    public void setup() {
+        ints = distribution.ints(size);
+        integers = distribution.integers(size);
+    }
+
+    @Benchmark
+    public int[] copy() {
+        return ints.clone();
+    }
+
+    @Benchmark
+    public Integer[] copyBoxed() {
+        return integers.clone();
+    }
+
+    @Benchmark
+    public int[] bubbleSort() {
+        int[] a = ints.clone();
+        BubbleSort.bubbleSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] bubbleSortBoxed() {
+        Integer[] a = integers.clone();
+        BubbleSort.bubbleSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] insertSort() {
+        int[] a = ints.clone();
+        InsertSort.insertSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] insertSortBoxed() {
+        Integer[] a = integers.clone();
+        InsertSort.insertSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] selectSort() {
+        int[] a = ints.clone();
+        SelectionSort.selectSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] selectSortBoxed() {
+        Integer[] a = integers.clone();
+        SelectionSort.selectSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] quickSort() {
+        int[] a = ints.clone();
+        QuickSort.quickSort(a, 0, a.length - 1);
+        return a;
+    }
+
+    @Benchmark
+    public Integer[] quickSortBoxed() {
+        Integer[] a = integers.clone();
+        QuickSort.quickSort(a, 0, a.length - 1);
+        return a;
+    }
+}
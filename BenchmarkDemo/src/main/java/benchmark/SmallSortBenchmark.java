@@ -0,0 +1,96 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sort.InsertSort;
+import sort.SortingNetwork;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 小区间收尾排序的基准测试：插入排序与排序网络，对应快速排序、归并排序递归到底时的区间。
+ * <p>
+ * 每次调用复制 BLOCKS 个长度为 size 的区间并逐个排序，结果按单个区间折算，
+ * 区间各不相同，避免分支预测器记住同一组数据。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SmallSortBenchmark {
+
+    private static final int BLOCKS = 1024;
+
+    @Param({"8", "16", "32", "64"})
+    public int size;
+
+    @Param
+    public Distribution distribution;
+
+    private int[] ints;
+    private double[] doubles;
+
+    @Setup
+    public void setup() {
+        ints = distribution.ints(size * BLOCKS);
+        doubles = distribution.doubles(size * BLOCKS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public int[] copy() {
+        return ints.clone();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public int[] insertSort() {
+        int[] a = ints.clone();
+        for (int i = 0; i < a.length; i += size) {
+            InsertSort.insertSort(a, i, i + size - 1);
+        }
+        return a;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public int[] sortingNetwork() {
+        int[] a = ints.clone();
+        for (int i = 0; i < a.length; i += size) {
+            SortingNetwork.sort(a, i, i + size);
+        }
+        return a;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public double[] insertSortDouble() {
+        double[] a = doubles.clone();
+        for (int i = 0; i < a.length; i += size) {
+            InsertSort.insertSort(a, i, i + size - 1);
+        }
+        return a;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKS)
+    public double[] sortingNetworkDouble() {
+        double[] a = doubles.clone();
+        for (int i = 0; i < a.length; i += size) {
+            SortingNetwork.sort(a, i, i + size);
+        }
+        return a;
+    }
+}
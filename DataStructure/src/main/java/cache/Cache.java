@@ -0,0 +1,205 @@
+package cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 有界的线程安全缓存，按 LRU 或 LFU 淘汰，可以按条目数或权重之和限制容量。
+ * <p>
+ * (01) 分段锁：键按哈希值分到 2 的幂个分段（{@link Segment}），每个分段有自己的哈希表、链表和锁，
+ * 不同分段上的操作互不阻塞；容量平均分给各个分段，淘汰在分段内进行，因此是近似的全局 LRU/LFU；
+ * (02) 每个分段是哈希表加 {@link linear.DoubleLink}：哈希表找到条目，条目持有链表节点的句柄，
+ * 命中时移动节点、满时从链表开头淘汰，都是O(1)；
+ * (03) 移出的条目在释放锁之后才通知 {@link RemovalListener}，监听器中的耗时操作不会阻塞其他线程；
+ * (04) 命中、未命中、淘汰次数用 LongAdder 计数，{@link #stats()} 返回快照。
+ * <p>
+ * 键和值都不能为 null，get 返回 null 表示不存在。
+ */
+public class Cache<K, V> {
+
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+    private final RemovalListener<? super K, ? super V> listener;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * 按条目数限制容量，分段数为 CPU 核数
+     *
+     * @param policy      淘汰策略
+     * @param maximumSize 最多缓存的条目数
+     */
+    public Cache(EvictionPolicy policy, long maximumSize) {
+        this(policy, maximumSize, (k, v) -> 1, Runtime.getRuntime().availableProcessors(), null);
+    }
+
+    /**
+     * @param policy           淘汰策略
+     * @param maximumWeight    所有条目的权重之和的上限
+     * @param weigher          条目的权重
+     * @param concurrencyLevel 预计同时访问的线程数，分段数取不小于它的2的幂（但不超过 maximumWeight）
+     * @param listener         条目被移出时的回调，可以为 null
+     */
+    public Cache(EvictionPolicy policy, long maximumWeight, Weigher<? super K, ? super V> weigher,
+                 int concurrencyLevel, RemovalListener<? super K, ? super V> listener) {
+        if (policy == null || weigher == null) {
+            throw new NullPointerException();
+        }
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("Illegal maximumWeight: " + maximumWeight);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Illegal concurrencyLevel: " + concurrencyLevel);
+        }
+        int n = 1;
+        while (n < concurrencyLevel && n < MAX_SEGMENTS && 2L * n <= maximumWeight) {
+            n <<= 1;
+        }
+        segments = newSegmentArray(n);
+        for (int i = 0; i < n; i++) {  // 余数分给前面的分段，各分段上限之和等于 maximumWeight
+            long share = maximumWeight / n + (i < maximumWeight % n ? 1 : 0);
+            segments[i] = new Segment<>(policy, share, weigher, listener != null);
+        }
+        mask = n - 1;
+        this.listener = listener;
+    }
+
+    /**
+     * @return 不存在时返回 null
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return value;
+    }
+
+    /**
+     * 不存在时调用 loader 计算并放入缓存。
+     * <p>
+     * loader 在锁外调用，远程调用等耗时操作不会阻塞同一分段上的其他键；
+     * 代价是多个线程同时未命中同一个键时可能各调用一次 loader，后放入的结果覆盖先放入的
+     *
+     * @param loader 返回 null 时不放入缓存
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * @return 原来的值，不存在时返回 null
+     */
+    public V put(K key, V value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        Segment<K, V> segment = segmentFor(key);
+        V old;
+        List<Segment.Removal<K, V>> removed;
+        synchronized (segment) {
+            old = segment.put(key, value);
+            removed = segment.drainRemovals();
+        }
+        notifyListener(removed);
+        return old;
+    }
+
+    /**
+     * @return 被删除的值，不存在时返回 null
+     */
+    public V remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        V old;
+        List<Segment.Removal<K, V>> removed;
+        synchronized (segment) {
+            old = segment.remove(key);
+            removed = segment.drainRemovals();
+        }
+        notifyListener(removed);
+        return old;
+    }
+
+    // 删除所有条目，逐个分段加锁，不是原子操作
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            List<Segment.Removal<K, V>> removed;
+            synchronized (segment) {
+                segment.clear();
+                removed = segment.drainRemovals();
+            }
+            notifyListener(removed);
+        }
+    }
+
+    // 条目数，其他线程同时修改时只是一个近似值
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    // 所有条目的权重之和
+    public long weightedSize() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                weight += segment.weight();
+            }
+        }
+        return weight;
+    }
+
+    public CacheStats stats() {
+        long evictionCount = 0;
+        long evictionWeight = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                evictionCount += segment.evictionCount();
+                evictionWeight += segment.evictionWeight();
+            }
+        }
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount, evictionWeight);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Segment<K, V>[] newSegmentArray(int n) {
+        return (Segment<K, V>[]) new Segment[n];
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;  // 让高位也参与分段，与 HashMap 的 spread 相同
+        return segments[h & mask];
+    }
+
+    private void notifyListener(List<Segment.Removal<K, V>> removed) {
+        if (removed == null) {
+            return;
+        }
+        for (Segment.Removal<K, V> r : removed) {
+            listener.onRemoval(r.key, r.value, r.cause);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package cache;
+
+/**
+ * 缓存统计信息的快照
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long evictionWeight;
+
+    CacheStats(long hitCount, long missCount, long evictionCount, long evictionWeight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+    }
+
+    // 命中次数
+    public long hitCount() {
+        return hitCount;
+    }
+
+    // 未命中次数
+    public long missCount() {
+        return missCount;
+    }
+
+    // 查询次数
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    // 命中率，没有查询时为1
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    // 因容量被淘汰的条目数
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    // 被淘汰条目的权重之和
+    public long evictionWeight() {
+        return evictionWeight;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount
+                + ", hitRate=" + hitRate() + ", evictionCount=" + evictionCount
+                + ", evictionWeight=" + evictionWeight + "}";
+    }
+}
@@ -0,0 +1,15 @@
+package cache;
+
+/**
+ * 缓存满时选择淘汰哪个条目
+ */
+public enum EvictionPolicy {
+    /**
+     * 最近最少使用（Least Recently Used）：淘汰最久没有访问的条目
+     */
+    LRU,
+    /**
+     * 最不经常使用（Least Frequently Used）：淘汰访问次数最少的条目，次数相同时淘汰最久没有访问的
+     */
+    LFU
+}
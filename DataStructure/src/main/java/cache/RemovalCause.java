@@ -0,0 +1,19 @@
+package cache;
+
+/**
+ * 条目被移出缓存的原因
+ */
+public enum RemovalCause {
+    /**
+     * 调用 remove 或 clear 删除
+     */
+    EXPLICIT,
+    /**
+     * put 同一个键时旧值被替换
+     */
+    REPLACED,
+    /**
+     * 超过最大条目数或最大权重被淘汰
+     */
+    SIZE
+}
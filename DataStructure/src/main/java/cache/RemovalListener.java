@@ -0,0 +1,10 @@
+package cache;
+
+/**
+ * 条目被移出缓存时的回调，在释放锁之后调用，回调中可以再访问缓存
+ */
+@FunctionalInterface
+public interface RemovalListener<K, V> {
+
+    void onRemoval(K key, V value, RemovalCause cause);
+}
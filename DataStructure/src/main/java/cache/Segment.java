@@ -0,0 +1,249 @@
+package cache;
+
+import linear.DoubleLink;
+import linear.DoubleLink.DNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * 缓存的一个分段，本身不是线程安全的，由 {@link Cache} 加锁后访问。
+ * <p>
+ * 哈希表从键找到条目，条目持有它在链表中的节点句柄，查找、调整顺序、淘汰都是O(1)：
+ * (01) LRU：一个按访问先后排列的链表，命中时把节点移到末尾，淘汰链表开头的条目；
+ * (02) LFU：频次桶按访问次数升序排成链表，每个桶里是访问次数相同的条目，按访问先后排列。
+ * 命中时把条目移到下一个桶（次数加1的桶不存在就紧跟在当前桶后面新建一个），空桶立即删除；
+ * 淘汰第一个桶（次数最少）开头的条目。新条目先腾出空间再放进次数为1的桶，
+ * 否则已有条目都被访问过时次数为1的桶里只有新条目，它会被立即淘汰，缓存再也放不进新键。
+ */
+final class Segment<K, V> {
+
+    private static final class Entry<K, V> {
+        final K key;
+        V value;
+        int weight;
+        DNode<Entry<K, V>> node;  // 条目在 LRU 链表或所在频次桶中的节点
+        DNode<Bucket<K, V>> bucket;  // LFU：条目所在的频次桶
+
+        Entry(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Bucket<K, V> {
+        final long frequency;
+        final DoubleLink<Entry<K, V>> entries = new DoubleLink<>();
+
+        Bucket(long frequency) {
+            this.frequency = frequency;
+        }
+    }
+
+    /**
+     * 被移出的条目，释放锁之后再通知监听器
+     */
+    static final class Removal<K, V> {
+        final K key;
+        final V value;
+        final RemovalCause cause;
+
+        Removal(K key, V value, RemovalCause cause) {
+            this.key = key;
+            this.value = value;
+            this.cause = cause;
+        }
+    }
+
+    private final EvictionPolicy policy;
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final HashMap<K, Entry<K, V>> map = new HashMap<>();
+    private DoubleLink<Entry<K, V>> lru = new DoubleLink<>();
+    private DoubleLink<Bucket<K, V>> buckets = new DoubleLink<>();
+    private long weight;
+    private long evictionCount;
+    private long evictionWeight;
+    private List<Removal<K, V>> removals;  // 为 null 表示没有监听器，不需要记录
+
+    Segment(EvictionPolicy policy, long maximumWeight, Weigher<? super K, ? super V> weigher, boolean recordRemovals) {
+        this.policy = policy;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.removals = recordRemovals ? new ArrayList<>() : null;
+    }
+
+    /**
+     * 查找并记录一次访问
+     *
+     * @return 不存在时返回 null
+     */
+    V get(K key) {
+        Entry<K, V> e = map.get(key);
+        if (e == null) {
+            return null;
+        }
+        touch(e);
+        return e.value;
+    }
+
+    /**
+     * 放入或替换，替换时记为一次访问，之后按需要淘汰；
+     * LFU 放入新键时先淘汰已有条目，新条目只有本身超过上限时才会被淘汰
+     *
+     * @return 原来的值，不存在时返回 null
+     */
+    V put(K key, V value) {
+        int w = weigher.weigh(key, value);
+        if (w < 0) {
+            throw new IllegalArgumentException("Negative weight: " + w);
+        }
+        Entry<K, V> e = map.get(key);
+        V old = null;
+        if (e == null) {
+            if (policy == EvictionPolicy.LFU) {
+                evict(w);
+            }
+            e = new Entry<>(key, value, w);
+            map.put(key, e);
+            link(e);
+        } else {
+            old = e.value;
+            record(key, old, RemovalCause.REPLACED);
+            weight -= e.weight;
+            e.value = value;
+            e.weight = w;
+            touch(e);
+        }
+        weight += w;
+        evict(0);
+        return old;
+    }
+
+    /**
+     * @return 被删除的值，不存在时返回 null
+     */
+    V remove(K key) {
+        Entry<K, V> e = map.remove(key);
+        if (e == null) {
+            return null;
+        }
+        unlink(e);
+        weight -= e.weight;
+        record(key, e.value, RemovalCause.EXPLICIT);
+        return e.value;
+    }
+
+    void clear() {
+        if (removals != null) {
+            for (Entry<K, V> e : map.values()) {
+                record(e.key, e.value, RemovalCause.EXPLICIT);
+            }
+        }
+        map.clear();
+        lru = new DoubleLink<>();
+        buckets = new DoubleLink<>();
+        weight = 0;
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    long weight() {
+        return weight;
+    }
+
+    long evictionCount() {
+        return evictionCount;
+    }
+
+    long evictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * 取出上一次操作移出的条目，没有时返回 null
+     */
+    List<Removal<K, V>> drainRemovals() {
+        if (removals == null || removals.isEmpty()) {
+            return null;
+        }
+        List<Removal<K, V>> ret = removals;
+        removals = new ArrayList<>();
+        return ret;
+    }
+
+    private void record(K key, V value, RemovalCause cause) {
+        if (removals != null) {
+            removals.add(new Removal<>(key, value, cause));
+        }
+    }
+
+    /**
+     * 总权重加上即将放入的权重超过上限时按策略淘汰，新放入的条目本身超过上限时也会被淘汰
+     *
+     * @param incoming 还没有放入的新条目的权重
+     */
+    private void evict(long incoming) {
+        while (weight + incoming > maximumWeight && !map.isEmpty()) {
+            Entry<K, V> victim = policy == EvictionPolicy.LRU
+                    ? lru.firstNode().data
+                    : buckets.firstNode().data.entries.firstNode().data;
+            map.remove(victim.key);
+            unlink(victim);
+            weight -= victim.weight;
+            evictionCount++;
+            evictionWeight += victim.weight;
+            record(victim.key, victim.value, RemovalCause.SIZE);
+        }
+    }
+
+    // 新条目：LRU 放到链表末尾，LFU 放进次数为1的桶
+    private void link(Entry<K, V> e) {
+        if (policy == EvictionPolicy.LRU) {
+            e.node = lru.linkLast(e);
+            return;
+        }
+        DNode<Bucket<K, V>> first = buckets.firstNode();
+        if (first == null || first.data.frequency != 1) {
+            first = buckets.linkFirst(new Bucket<>(1));
+        }
+        e.bucket = first;
+        e.node = first.data.entries.linkLast(e);
+    }
+
+    // 记录一次访问：LRU 移到链表末尾，LFU 移到次数加1的桶
+    private void touch(Entry<K, V> e) {
+        if (policy == EvictionPolicy.LRU) {
+            lru.moveToLast(e.node);
+            return;
+        }
+        DNode<Bucket<K, V>> current = e.bucket;
+        DNode<Bucket<K, V>> next = buckets.nextNode(current);
+        long frequency = current.data.frequency + 1;
+        if (next == null || next.data.frequency != frequency) {
+            next = buckets.linkAfter(current, new Bucket<>(frequency));
+        }
+        current.data.entries.remove(e.node);
+        if (current.data.entries.isEmpty()) {
+            buckets.remove(current);
+        }
+        e.bucket = next;
+        e.node = next.data.entries.linkLast(e);
+    }
+
+    private void unlink(Entry<K, V> e) {
+        if (policy == EvictionPolicy.LRU) {
+            lru.remove(e.node);
+            return;
+        }
+        DoubleLink<Entry<K, V>> entries = e.bucket.data.entries;
+        entries.remove(e.node);
+        if (entries.isEmpty()) {
+            buckets.remove(e.bucket);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package cache;
+
+/**
+ * 计算条目的权重，缓存按权重之和限制容量，例如按字节数限制内存占用。
+ * 条目放入缓存时计算一次，之后不再重新计算
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * @return 非负的权重
+     */
+    int weigh(K key, V value);
+}
@@ -1,7 +1,6 @@
 package heap;
 
-import tree.HuffmanTree;
-
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,35 +9,93 @@ import java.util.List;
  * 最大堆：父结点的键值总是大于或等于任何一个子节点的键值
  * 最小堆：父结点的键值总是小于或等于任何一个子节点的键值
  * 两者基本相同，只是排序大小优先差别，这里只写二叉最大堆（BinaryMaxHeap）
+ * <p>
+ * 数组中存放的是元素的句柄（{@link Handle}），句柄记录元素当前的下标，调整堆时同步更新，相当于一张位置表：
+ * insert 返回句柄，持有句柄时 {@link #delete(Handle)} 直接定位，O(logN)；
+ * {@link #pollTop()} 和 {@link #removeAt(int)} 按下标删除，O(logN)；
+ * 只有按值删除的 {@link #delete(Comparable)} 需要O(N)地查找元素。
  */
 public class BinaryHeap<T extends Comparable<T>> {
+
+    /**
+     * 堆中元素的句柄
+     */
+    public static final class Handle<T> {
+        private final T data;
+        private int index;  // 在数组中的下标，被删除后为-1
+
+        private Handle(T data, int index) {
+            this.data = data;
+            this.index = index;
+        }
+
+        public T getData() {
+            return data;
+        }
+    }
+
+    /**
+     * 堆中的数据，按数组顺序排列
+     */
     public List<T> getHeap() {
-        return heap;
+        return new AbstractList<T>() {
+            @Override
+            public T get(int index) {
+                return heap.get(index).data;
+            }
+
+            @Override
+            public int size() {
+                return heap.size();
+            }
+        };
     }
 
-    private List<T> heap;  // 用动态数组（ArrayList<>）来表达二叉堆
+    private List<Handle<T>> heap;  // 用动态数组（ArrayList<>）来表达二叉堆
 
     public BinaryHeap() {
         this.heap = new ArrayList<>();
     }
 
+    /**
+     * 自底向上建堆，O(N)
+     */
     public BinaryHeap(T[] a) {
-        this.heap = new ArrayList<>();
-        for (T data : a){
-            insert(data);
+        this.heap = new ArrayList<>(a.length);
+        for (T data : a) {
+            heap.add(new Handle<>(data, heap.size()));
         }
+        for (int i = heap.size() / 2 - 1; i >= 0; i--) {
+            adjustDown(i);
+        }
+    }
+
+    public int size() {
+        return heap.size();
     }
 
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
 
     /**
      * 插入
      *
      * @param data 插入的数据
+     * @return 数据的句柄，用于 {@link #delete(Handle)}
      */
-    public void insert(T data) {
+    public Handle<T> insert(T data) {
         int size = heap.size(); // 获取数组大小，相当于获取新插入数据的数组中下标
-        heap.add(data);  // 新数据插入数组最后
+        Handle<T> handle = new Handle<>(data, size);
+        heap.add(handle);  // 新数据插入数组最后
         adjustUp(size);
+        return handle;
+    }
+
+    // 把句柄放到index位置，同步更新它记录的下标
+    private void place(int index, Handle<T> handle) {
+        heap.set(index, handle);
+        handle.index = index;
     }
 
     /**
@@ -48,81 +105,123 @@ public class BinaryHeap<T extends Comparable<T>> {
      */
     private void adjustUp(int current) {
         int parentIndex = (current - 1) / 2; // 获取父结点位置
-        T insertData = heap.get(current);  // 插入结点的值
+        Handle<T> insertData = heap.get(current);  // 插入结点的值
         while (current > 0) {  // 从start开始向上直到0，调整堆
-            int compare = insertData.compareTo(heap.get(parentIndex));
-            if (compare < 0) {  // 当前结点 小于 的父结点 符合二叉堆
+            int compare = insertData.data.compareTo(heap.get(parentIndex).data);
+            if (compare <= 0) {  // 当前结点 不大于 父结点 符合二叉堆
                 break; // 退出循环
             } else {  // 当前结点 大于 父结点
-                heap.set(current, heap.get(parentIndex)); // 把父结点的值设置到当前结点
+                place(current, heap.get(parentIndex)); // 把父结点的值设置到当前结点
                 // 向上
                 current = parentIndex;
                 parentIndex = (current - 1) / 2;
             }
         }
-        heap.set(current, insertData); // 将插入的值设置到合理的位置
+        place(current, insertData); // 将插入的值设置到合理的位置
     }
 
+    /**
+     * 按值删除，需要O(N)地查找元素，持有句柄时应使用 {@link #delete(Handle)}
+     *
+     * @return 成功返回0，堆中没有该数据返回-1
+     */
     public int delete(T data) {
         if (heap.isEmpty()) { // 空堆
             return -1;
         }
-        int index = heap.indexOf(data);
+        int index = -1;
+        for (int i = 0; i < heap.size(); i++) {
+            if (heap.get(i).data.equals(data)) {
+                index = i;
+                break;
+            }
+        }
         if (index == -1) {  // 堆中没有该数据
             return -1;
         }
+        removeAt(index);
+        return 0;
+    }
 
-        int size = heap.size();
-        heap.set(index, heap.get(size - 1));  // 将“堆”中最后一个数据 填补到删除元素位置
-        heap.remove(size - 1); // 删除最后元素
-        if (index < heap.size() - 1) {  // 删除最后元素不需要调整
-            adjustDown(index);
+    /**
+     * 按句柄删除，O(logN)
+     *
+     * @return 成功返回0，句柄已被删除或不属于该堆返回-1
+     */
+    public int delete(Handle<T> handle) {
+        int index = handle.index;
+        if (index < 0 || index >= heap.size() || heap.get(index) != handle) {
+            return -1;
         }
+        removeAt(index);
         return 0;
+    }
 
+    /**
+     * 删除数组中第index个元素，O(logN)
+     *
+     * @return 被删除的数据
+     */
+    public T removeAt(int index) {
+        if (index < 0 || index >= heap.size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        Handle<T> removed = heap.get(index);
+        Handle<T> last = heap.remove(heap.size() - 1); // 删除最后元素
+        if (index < heap.size()) {  // 删除的不是最后元素，用最后元素填补删除位置
+            place(index, last);
+            adjustDown(index);
+            if (heap.get(index) == last) {  // 没有向下移动，可能比父结点大
+                adjustUp(index);
+            }
+        }
+        removed.index = -1;
+        return removed.data;
     }
 
     private void adjustDown(int current) {
         int left = 2 * current + 1; // 左孩子结点 索引值
-        T data = heap.get(current); // 调整位置数据
+        Handle<T> data = heap.get(current); // 调整位置数据
         while (left <= heap.size() - 1) {
             // 先比较孩子中那个比较大， left + 1即右孩子索引值
             if (left < heap.size() - 1) {  // 有右孩子
-                int lrCompare = heap.get(left).compareTo(heap.get(left + 1));
+                int lrCompare = heap.get(left).data.compareTo(heap.get(left + 1).data);
                 if (lrCompare < 0) {
                     left++;
                 }
             }
-            int compare = data.compareTo(heap.get(left));
+            int compare = data.data.compareTo(heap.get(left).data);
             if (compare >= 0) {  // 当前结点 大于 的子结点最大值 符合二叉堆
                 break; // 退出循环
             } else {  // 当前结点 小于 子结点
-                heap.set(current, heap.get(left)); // 把子结点最大的值设置到当前结点
+                place(current, heap.get(left)); // 把子结点最大的值设置到当前结点
                 // 向下
                 current = left;
                 left = 2 * current + 1;
             }
         }
-        heap.set(current, data); // 将调整的值设置到合理的位置
+        place(current, data); // 将调整的值设置到合理的位置
     }
 
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (T aHeap : heap) {
-            sb.append(aHeap);
+        for (Handle<T> aHeap : heap) {
+            sb.append(aHeap.data);
             sb.append(" ");
         }
         return sb.toString();
     }
 
+    /**
+     * 删除并返回堆顶（最大值），O(logN)
+     *
+     * @return 堆为空时返回 null
+     */
     public T pollTop(){
         if (heap.size() == 0){
             return null;
         }
-
-        T  huffmanNode = heap.get(0);
-        delete(huffmanNode);
-        return huffmanNode;
+        return removeAt(0);
     }
 
 }
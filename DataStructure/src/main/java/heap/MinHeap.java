@@ -67,16 +67,25 @@ public class MinHeap {
             return -1;
         }
 
-        int size = heap.size();
-        heap.set(index, heap.get(size - 1));  // 将“堆”中最后一个数据 填补到删除元素位置
-        heap.remove(size - 1); // 删除最后元素
-        if (index < heap.size() - 1) {  // 删除最后元素不需要调整
-            adjustDown(index);
-        }
+        removeAt(index);
         return 0;
 
     }
 
+    // 删除第index个元素，O(logN)
+    private HuffmanTree.HuffmanNode removeAt(int index) {
+        HuffmanTree.HuffmanNode removed = heap.get(index);
+        HuffmanTree.HuffmanNode last = heap.remove(heap.size() - 1); // 删除最后元素
+        if (index < heap.size()) {  // 将“堆”中最后一个数据 填补到删除元素位置
+            heap.set(index, last);
+            adjustDown(index);
+            if (heap.get(index) == last) {  // 没有向下移动，可能比父结点小
+                adjustUp(index);
+            }
+        }
+        return removed;
+    }
+
     private void adjustDown(int current) {
         int left = 2 * current + 1; // 左孩子结点 索引值
         HuffmanTree.HuffmanNode data = heap.get(current); // 调整位置数据
@@ -115,9 +124,7 @@ public class MinHeap {
             return null;
         }
 
-        HuffmanTree.HuffmanNode huffmanNode = heap.get(0);
-        delete(huffmanNode);
-        return huffmanNode;
+        return removeAt(0);
     }
 
     public void destroy() {
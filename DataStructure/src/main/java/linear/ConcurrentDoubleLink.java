@@ -0,0 +1,367 @@
+package linear;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+
+/**
+ * 无锁并发双向链表（双端队列），多个线程可以同时在两端插入、删除，接口与 {@link DoubleLink} 的两端操作一致。
+ * <p>
+ * 与 DoubleLink 的区别：没有循环的表头，第一个节点是 prev 为 null 的节点，最后一个节点是 next 为 null 的节点，
+ * head/tail 只是指向表头、表尾附近的提示，可能落后，查找两端时从提示出发沿 prev/next 走到底。
+ * <p>
+ * (01) 插入：在表头插入时找到第一个节点 p，新节点的 next 指向 p，再 CAS 把 p.prev 从 null 改为新节点；
+ * 表尾对称，CAS 最后一个节点的 next。一次 CAS 同时让新节点从两个方向都可以到达；
+ * (02) 删除分两步：先 CAS 把节点的 item 改为 null，这就是逻辑删除标记，成功的线程拿到该元素，
+ * 之后遍历到该节点时直接跳过；再把被删除的节点从链上摘除：
+ * 找到它前后最近的未删除节点（或两端的节点），CAS 前者的 next 和后者的 prev，让两者直接相连；
+ * (03) 删除标记不可撤销，插入只发生在两端，因此任何 next（prev）指针跳过的都只是已删除的节点，
+ * 不论摘除时的 CAS 谁先谁后、是否失败，所有未删除的节点都能从第一个节点沿 next 依次到达；
+ * (04) 两端的节点不会被摘除（它们是插入时 CAS 的位置），表头、表尾最多各保留一个已删除的节点，
+ * 另一端插入新节点后它变成中间节点，再被摘除；
+ * (05) 从一端出发遍历时记住出发的端点，在 CAS 取走元素之前和判定为空之前都检查它仍是端点（prev/next 仍为 null），
+ * 否则说明这一端在遍历期间插入了新节点，重新开始，保证取走的确实是当时的第一个（最后一个）元素，且不会误判为空
+ * （JDK-8188900）。
+ * <p>
+ * 元素不能为 null。size 需要遍历，O(N)，其他线程同时修改时只是一个近似值。
+ * <p>
+ * 注：JDK中对应的实现是 java.util.concurrent.ConcurrentLinkedDeque
+ */
+public class ConcurrentDoubleLink<T> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle PREV;
+    private static final VarHandle NEXT;
+    private static final VarHandle ITEM;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(ConcurrentDoubleLink.class, "head", DNode.class);
+            TAIL = lookup.findVarHandle(ConcurrentDoubleLink.class, "tail", DNode.class);
+            PREV = lookup.findVarHandle(DNode.class, "prev", DNode.class);
+            NEXT = lookup.findVarHandle(DNode.class, "next", DNode.class);
+            ITEM = lookup.findVarHandle(DNode.class, "data", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final class DNode<T> {
+        volatile DNode<T> prev;
+        volatile T data;
+        volatile DNode<T> next;
+
+        DNode(T data) {
+            // 节点通过 CAS 发布，发布之前的普通写对其他线程可见
+            ITEM.set(this, data);
+        }
+    }
+
+    private volatile DNode<T> head;
+    private volatile DNode<T> tail;
+
+    // 初始化
+    public ConcurrentDoubleLink() {
+        // 初始时只有一个已删除（data 为 null）的节点，它既是第一个也是最后一个节点
+        head = tail = new DNode<T>(null);
+    }
+
+    // 将节点插入第一个节点处。
+    public void insertFirst(T t) {
+        if (t == null) {
+            throw new NullPointerException();
+        }
+        DNode<T> node = new DNode<>(t);
+        DNode<T> h = head;
+        DNode<T> p = h;
+        while (true) {
+            DNode<T> q = p.prev;
+            if (q != null) {  // p 之前还有节点，继续向前
+                p = q;
+                continue;
+            }
+            NEXT.set(node, p);
+            if (PREV.compareAndSet(p, null, node)) {
+                if (p != h) {  // 允许 head 落后一个节点，减少对 head 的 CAS
+                    HEAD.weakCompareAndSet(this, h, node);
+                }
+                return;
+            }
+            // 其他线程抢先在 p 之前插入了节点，从 p.prev 继续
+        }
+    }
+
+    // 将节点追加到链表的末尾
+    public void appendLast(T t) {
+        if (t == null) {
+            throw new NullPointerException();
+        }
+        DNode<T> node = new DNode<>(t);
+        DNode<T> tl = tail;
+        DNode<T> p = tl;
+        while (true) {
+            DNode<T> q = p.next;
+            if (q != null) {
+                p = q;
+                continue;
+            }
+            PREV.set(node, p);
+            if (NEXT.compareAndSet(p, null, node)) {
+                if (p != tl) {
+                    TAIL.weakCompareAndSet(this, tl, node);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 删除第一个节点
+     *
+     * @return 被删除节点的值，链表为空时返回 null
+     */
+    public T pollFirst() {
+        restart:
+        while (true) {
+            DNode<T> first = first();
+            for (DNode<T> p = first; ; ) {
+                T item = p.data;
+                if (item != null) {
+                    if (first.prev != null) {  // 出发点已不是第一个节点，前面插入了新节点
+                        continue restart;
+                    }
+                    if (ITEM.compareAndSet(p, item, null)) {
+                        unlink(p);
+                        return item;
+                    }
+                }
+                p = p.next;
+                if (p == null) {
+                    if (first.prev != null) {
+                        continue restart;
+                    }
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 删除最后一个节点
+     *
+     * @return 被删除节点的值，链表为空时返回 null
+     */
+    public T pollLast() {
+        restart:
+        while (true) {
+            DNode<T> last = last();
+            for (DNode<T> p = last; ; ) {
+                T item = p.data;
+                if (item != null) {
+                    if (last.next != null) {
+                        continue restart;
+                    }
+                    if (ITEM.compareAndSet(p, item, null)) {
+                        unlink(p);
+                        return item;
+                    }
+                }
+                p = p.prev;
+                if (p == null) {
+                    if (last.next != null) {
+                        continue restart;
+                    }
+                    return null;
+                }
+            }
+        }
+    }
+
+    // 删除第一个节点，返回它的值
+    public T deleteFirst() {
+        T ret = pollFirst();
+        if (ret == null) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    // 删除最后一个节点，返回它的值
+    public T deleteLast() {
+        T ret = pollLast();
+        if (ret == null) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    /**
+     * 第一个节点的值
+     *
+     * @return 链表为空时返回 null
+     */
+    public T peekFirst() {
+        restart:
+        while (true) {
+            DNode<T> first = first();
+            for (DNode<T> p = first; ; ) {
+                T item = p.data;
+                if (item != null) {
+                    if (first.prev != null) {
+                        continue restart;
+                    }
+                    return item;
+                }
+                p = p.next;
+                if (p == null) {
+                    if (first.prev != null) {
+                        continue restart;
+                    }
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 最后一个节点的值
+     *
+     * @return 链表为空时返回 null
+     */
+    public T peekLast() {
+        restart:
+        while (true) {
+            DNode<T> last = last();
+            for (DNode<T> p = last; ; ) {
+                T item = p.data;
+                if (item != null) {
+                    if (last.next != null) {
+                        continue restart;
+                    }
+                    return item;
+                }
+                p = p.prev;
+                if (p == null) {
+                    if (last.next != null) {
+                        continue restart;
+                    }
+                    return null;
+                }
+            }
+        }
+    }
+
+    // 获取第1个节点的值
+    public T getFirst() {
+        T ret = peekFirst();
+        if (ret == null) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    // 获取最后一个节点的值
+    public T getLast() {
+        T ret = peekLast();
+        if (ret == null) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    public boolean isEmpty() {
+        return peekFirst() == null;
+    }
+
+    public int size() {
+        int count = 0;
+        for (DNode<T> p = first(); p != null; p = p.next) {
+            if (p.data != null && ++count == Integer.MAX_VALUE) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 从 head 出发沿 prev 走到第一个节点，顺便把 head 更新为它
+     */
+    private DNode<T> first() {
+        DNode<T> h = head;
+        DNode<T> p = h;
+        for (DNode<T> q; (q = p.prev) != null; ) {
+            p = q;
+        }
+        if (p != h) {
+            HEAD.weakCompareAndSet(this, h, p);
+        }
+        return p;
+    }
+
+    private DNode<T> last() {
+        DNode<T> tl = tail;
+        DNode<T> p = tl;
+        for (DNode<T> q; (q = p.next) != null; ) {
+            p = q;
+        }
+        if (p != tl) {
+            TAIL.weakCompareAndSet(this, tl, p);
+        }
+        return p;
+    }
+
+    /**
+     * 摘除已删除的节点x：找到x之前最近的未删除节点（或第一个节点）和之后最近的未删除节点（或最后一个节点），
+     * 让两者直接相连，顺带摘除它们之间其他已删除的节点
+     */
+    private void unlink(DNode<T> x) {
+        DNode<T> pred = x;
+        for (DNode<T> q; pred.data == null && (q = pred.prev) != null; ) {
+            pred = q;
+        }
+        DNode<T> succ = x;
+        for (DNode<T> q; succ.data == null && (q = succ.next) != null; ) {
+            succ = q;
+        }
+        skipDeletedSuccessors(pred);
+        skipDeletedPredecessors(succ);
+    }
+
+    /**
+     * 让x.next跳过x之后连续的已删除节点，最后一个节点即使已删除也不跳过。
+     * x自己被删除且不是第一个节点时放弃，由删除x的线程负责
+     */
+    private void skipDeletedSuccessors(DNode<T> x) {
+        do {
+            DNode<T> next = x.next;
+            if (next == null) {
+                return;
+            }
+            DNode<T> p = next;
+            for (DNode<T> q; p.data == null && (q = p.next) != null; ) {
+                p = q;
+            }
+            if (p == next || NEXT.compareAndSet(x, next, p)) {
+                return;
+            }
+        } while (x.data != null || x.prev == null);
+    }
+
+    private void skipDeletedPredecessors(DNode<T> x) {
+        do {
+            DNode<T> prev = x.prev;
+            if (prev == null) {
+                return;
+            }
+            DNode<T> p = prev;
+            for (DNode<T> q; p.data == null && (q = p.prev) != null; ) {
+                p = q;
+            }
+            if (p == prev || PREV.compareAndSet(x, prev, p)) {
+                return;
+            }
+        } while (x.data != null || x.next == null);
+    }
+}
@@ -0,0 +1,191 @@
+package linear;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 无锁并发栈，Treiber 栈加消除数组（elimination array，Hendler、Shavit、Yerushalmi）。
+ * <p>
+ * (01) Treiber 栈：栈是单链表，top 指向栈顶节点。push 先把新节点的 next 指向当前栈顶，
+ * 再 CAS 把 top 换成新节点；pop CAS 把 top 换成 top.next。节点入栈后不再修改，也不会重复入栈，
+ * 因此不存在 ABA 问题；
+ * (02) 消除：竞争激烈时所有线程都在 CAS 同一个 top，大部分 CAS 失败。
+ * CAS 失败的 push 随机选一个消除槽，把节点放进去等待一小段时间；
+ * CAS 失败的 pop 随机看一个消除槽，里面有节点就 CAS 取走，相当于这次 push 和 pop 直接相互抵消，不经过 top；
+ * (03) push 等待结束后 CAS 把槽位清空撤回节点，撤回失败说明节点已被某个 pop 取走。
+ * 放入和取走、撤回都是对同一槽位的 CAS，每个节点只会被取走或撤回一次，线性化点是 pop 取走节点的时刻。
+ * <p>
+ * 元素不能为 null。接口与 {@link Stack} 一致：pop/peek 在栈为空时抛出异常，poll 返回 null。
+ */
+public class ConcurrentStack<T> {
+
+    private static final VarHandle TOP;
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(ConcurrentStack.class, "top", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * 相邻消除槽之间间隔的引用个数，每个槽位独占一个缓存行，避免伪共享
+     */
+    private static final int SLOT_STRIDE = 16;
+
+    /**
+     * push 在消除槽中等待 pop 的自旋次数
+     */
+    private static final int SPINS = 1 << 7;
+
+    private static final int MAX_ELIMINATION_SIZE = 64;
+
+    private static final class Node<T> {
+        final T item;
+        Node<T> next;
+
+        Node(T item) {
+            this.item = item;
+        }
+    }
+
+    private volatile Node<T> top;
+    private final Object[] slots;
+    private final int eliminationSize;
+
+    /**
+     * 消除槽个数为 CPU 核数的一半，向上取整到2的幂
+     */
+    public ConcurrentStack() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() >>> 1));
+    }
+
+    /**
+     * @param eliminationSize 消除槽个数，向上取整到2的幂，为0时是不带消除的 Treiber 栈
+     */
+    public ConcurrentStack(int eliminationSize) {
+        if (eliminationSize < 0 || eliminationSize > MAX_ELIMINATION_SIZE) {
+            throw new IllegalArgumentException("Illegal eliminationSize: " + eliminationSize);
+        }
+        this.eliminationSize = eliminationSize <= 1 ? eliminationSize : Integer.highestOneBit(eliminationSize - 1) << 1;
+        this.slots = new Object[this.eliminationSize * SLOT_STRIDE];
+    }
+
+    // 将val添加到栈中
+    public void push(T val) {
+        if (val == null) {
+            throw new NullPointerException();
+        }
+        Node<T> node = new Node<>(val);
+        while (true) {
+            Node<T> head = top;
+            node.next = head;
+            if (TOP.compareAndSet(this, head, node)) {
+                return;
+            }
+            if (eliminationSize > 0 && eliminatePush(node)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 返回并删除栈顶元素
+     *
+     * @return 栈为空时返回 null
+     */
+    public T poll() {
+        while (true) {
+            Node<T> head = top;
+            if (head == null) {
+                return null;
+            }
+            if (TOP.compareAndSet(this, head, head.next)) {
+                return head.item;
+            }
+            if (eliminationSize > 0) {
+                T item = eliminatePop();
+                if (item != null) {
+                    return item;
+                }
+            }
+        }
+    }
+
+    /**
+     * 把节点放进一个空闲的消除槽，等待 pop 取走
+     *
+     * @return 节点被 pop 取走时返回 true
+     */
+    private boolean eliminatePush(Node<T> node) {
+        int index = randomSlot();
+        if (!SLOT.compareAndSet(slots, index, null, node)) {  // 槽位已被其他 push 占用
+            return false;
+        }
+        for (int i = 0; i < SPINS; i++) {
+            if (SLOT.getAcquire(slots, index) != node) {
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        // 撤回失败说明在撤回之前已经被 pop 取走
+        return !SLOT.compareAndSet(slots, index, node, null);
+    }
+
+    /**
+     * 从一个消除槽取走 push 放入的节点
+     *
+     * @return 槽位为空或被其他线程抢先时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    private T eliminatePop() {
+        int index = randomSlot();
+        Object node = SLOT.getAcquire(slots, index);
+        if (node != null && SLOT.compareAndSet(slots, index, node, null)) {
+            return ((Node<T>) node).item;
+        }
+        return null;
+    }
+
+    private int randomSlot() {
+        return ThreadLocalRandom.current().nextInt(eliminationSize) * SLOT_STRIDE;
+    }
+
+    // 返回“栈顶元素值”，并删除“栈顶元素”
+    public T pop() {
+        T ret = poll();
+        if (ret == null) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    // 返回“栈顶元素值”
+    public T peek() {
+        Node<T> head = top;
+        if (head == null) {
+            throw new NoSuchElementException();
+        }
+        return head.item;
+    }
+
+    /**
+     * 元素个数，需要遍历链表，O(N)；其他线程同时 push/pop 时只是一个近似值
+     */
+    public int size() {
+        int count = 0;
+        for (Node<T> p = top; p != null && count < Integer.MAX_VALUE; p = p.next) {
+            count++;
+        }
+        return count;
+    }
+
+    // 返回“栈”是否为空
+    public boolean isEmpty() {
+        return top == null;
+    }
+}
@@ -1,5 +1,15 @@
 package linear;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * 双向链表(双链表)是链表的一种。
  * 和单链表一样，双链表也是由节点组成，
@@ -7,19 +17,37 @@ package linear;
  * 分别指向直接后继和直接前驱。
  * 一般我们都构造双向循环链表。
  * <p>
+ * 按下标的 get/insert/del 需要从表头或表尾走到该位置，顺序访问时应使用迭代器：
+ * {@link #listIterator()} 每步O(1)，可以在游标处插入、删除；
+ * {@link #splice} 和 {@link #split} 在两个链表之间整段移动节点，只改端点的指针；
+ * {@link #spliterator()} 分批拆分，可以作为并行流的数据源。
+ * <p>
+ * {@link #linkFirst}、{@link #linkLast} 等方法返回节点句柄（{@link DNode}），
+ * 持有句柄时 {@link #remove}、{@link #moveToFirst}、{@link #moveToLast} 都是O(1)，不需要按下标查找，
+ * 可以和哈希表组合成 LRU 等结构。
+ * <p>
+ * 迭代器是快速失败（fail-fast）的：创建迭代器后，不通过该迭代器修改了链表结构，
+ * 迭代器的下一次操作抛出 ConcurrentModificationException。
+ * <p>
  * 注：java自带的集合包中有实现双向链表，路径是:java.util.LinkedList
  */
-public class DoubleLink<T> {
+public class DoubleLink<T> implements Iterable<T> {
     private DNode<T> head;
     private int count;
+    // 结构修改（插入、删除、移动节点）的次数，迭代器用它检测并发修改
+    private int modCount;
 
 
-    private class DNode<T> {
+    /**
+     * 链表节点，linkFirst/linkLast 等方法把它作为句柄返回，之后可以O(1)地删除或移动该节点。
+     * 句柄只能用在创建它的链表上（或 splice 之后所在的链表），节点被删除后不能再使用
+     */
+    public static final class DNode<T> {
         private DNode<T> prev;
         private DNode<T> next;
         public T data;
 
-        public DNode(T data, DNode<T> prev, DNode<T> next) {
+        private DNode(T data, DNode<T> prev, DNode<T> next) {
             this.data = data;
             this.prev = prev;
             this.next = next;
@@ -38,6 +66,10 @@ public class DoubleLink<T> {
         return count == 0;
     }
 
+    public int size() {
+        return count;
+    }
+
     public T get(int index) {
         return getNode(index).data;
     }
@@ -60,6 +92,13 @@ public class DoubleLink<T> {
         return rnode;
     }
 
+    // 返回第index个位置的节点，index等于元素个数时返回表头
+    private DNode<T> getPosition(int index) {
+        if (index < 0 || index > count)
+            throw new IndexOutOfBoundsException();
+        return index == count ? head : getNode(index);
+    }
+
     // 获取第1个节点的值
     public T getFirst() {
         return getNode(0).data;
@@ -73,18 +112,10 @@ public class DoubleLink<T> {
     // 将节点插入到第index位置之前
     public void insert(int index, T t) {
         if (index == 0) {
-            DNode<T> node = new DNode<T>(t, head, head.next);
-            head.next.prev = node;
-            head.next = node;
-            count++;
+            linkBefore(t, head.next);
             return;
         }
-
-        DNode<T> inode = getNode(index);
-        DNode<T> tnode = new DNode<T>(t, inode.prev, inode);
-        inode.prev.next = tnode;
-        inode.next = tnode;
-        count++;
+        linkBefore(t, getNode(index));
     }
 
     // 将节点插入第一个节点处。
@@ -94,19 +125,12 @@ public class DoubleLink<T> {
 
     // 将节点追加到链表的末尾
     public void appendLast(T t) {
-        DNode<T> node = new DNode<T>(t, head.prev, head);
-        head.prev.next = node;
-        head.prev = node;
-        count++;
+        linkBefore(t, head);
     }
 
     // 删除index位置的节点
     public void del(int index) {
-        DNode<T> inode = getNode(index);
-        inode.prev.next = inode.next;
-        inode.next.prev = inode.prev;
-        inode = null;
-        count--;
+        unlink(getNode(index));
     }
 
     // 删除第一个节点
@@ -118,4 +142,389 @@ public class DoubleLink<T> {
     public void deleteLast() {
         del(count - 1);
     }
+
+    // 在inode之前插入新节点
+    private DNode<T> linkBefore(T t, DNode<T> inode) {
+        DNode<T> tnode = new DNode<T>(t, inode.prev, inode);
+        inode.prev.next = tnode;
+        inode.prev = tnode;
+        count++;
+        modCount++;
+        return tnode;
+    }
+
+    // 从链表中摘除inode
+    private void unlink(DNode<T> inode) {
+        inode.prev.next = inode.next;
+        inode.next.prev = inode.prev;
+        inode.prev = inode.next = null;
+        count--;
+        modCount++;
+    }
+
+    // 将节点插入第一个节点处，返回新节点的句柄
+    public DNode<T> linkFirst(T t) {
+        return linkBefore(t, head.next);
+    }
+
+    // 将节点追加到链表的末尾，返回新节点的句柄
+    public DNode<T> linkLast(T t) {
+        return linkBefore(t, head);
+    }
+
+    // 将节点插入到node之前，返回新节点的句柄
+    public DNode<T> linkBefore(DNode<T> node, T t) {
+        return linkBefore(t, checkNode(node));
+    }
+
+    // 将节点插入到node之后，返回新节点的句柄
+    public DNode<T> linkAfter(DNode<T> node, T t) {
+        return linkBefore(t, checkNode(node).next);
+    }
+
+    // 第一个节点的句柄，链表为空时返回null
+    public DNode<T> firstNode() {
+        return count == 0 ? null : head.next;
+    }
+
+    // 最后一个节点的句柄，链表为空时返回null
+    public DNode<T> lastNode() {
+        return count == 0 ? null : head.prev;
+    }
+
+    // node的下一个节点，node是最后一个节点时返回null
+    public DNode<T> nextNode(DNode<T> node) {
+        DNode<T> next = checkNode(node).next;
+        return next == head ? null : next;
+    }
+
+    // node的上一个节点，node是第一个节点时返回null
+    public DNode<T> prevNode(DNode<T> node) {
+        DNode<T> prev = checkNode(node).prev;
+        return prev == head ? null : prev;
+    }
+
+    // 删除node节点，O(1)
+    public void remove(DNode<T> node) {
+        unlink(checkNode(node));
+    }
+
+    // 把node移动到链表开头，不创建新节点
+    public void moveToFirst(DNode<T> node) {
+        relinkBefore(checkNode(node), head.next);
+    }
+
+    // 把node移动到链表末尾，不创建新节点
+    public void moveToLast(DNode<T> node) {
+        relinkBefore(checkNode(node), head);
+    }
+
+    // 把已在链表中的inode摘下，放到pos之前
+    private void relinkBefore(DNode<T> inode, DNode<T> pos) {
+        if (inode == pos || inode.next == pos)
+            return;
+        inode.prev.next = inode.next;
+        inode.next.prev = inode.prev;
+        inode.prev = pos.prev;
+        inode.next = pos;
+        pos.prev.next = inode;
+        pos.prev = inode;
+        modCount++;
+    }
+
+    // 已删除的节点 prev/next 为null
+    private DNode<T> checkNode(DNode<T> node) {
+        if (node.next == null)
+            throw new IllegalStateException("Node has been removed");
+        return node;
+    }
+
+    /**
+     * 把 other 的全部节点移动到本链表第index个位置之前，other 变为空链表
+     *
+     * @see #splice(int, DoubleLink, int, int)
+     */
+    public void splice(int index, DoubleLink<T> other) {
+        splice(index, other, 0, other.count);
+    }
+
+    /**
+     * 把 other 中 [from, to) 区间的节点整段移动到本链表第index个位置之前。
+     * <p>
+     * 节点本身不复制，只修改区间两端和插入位置的4个指针，O(1)；
+     * 定位 index、from、to 与 {@link #get} 一样从较近的一端走过去，位于两端时也是O(1)
+     *
+     * @param index 插入位置，可以等于元素个数（追加到末尾）
+     * @param other 另一个链表，不能是本链表
+     * @param from  区间开始位置（包含）
+     * @param to    区间结束位置（不包含）
+     */
+    public void splice(int index, DoubleLink<T> other, int from, int to) {
+        if (other == this)
+            throw new IllegalArgumentException("Cannot splice a list into itself");
+        if (from < 0 || from > to || to > other.count)
+            throw new IndexOutOfBoundsException();
+        DNode<T> succ = getPosition(index);
+        if (from == to)
+            return;
+        DNode<T> first = other.getNode(from);
+        DNode<T> last = other.getNode(to - 1);
+        int n = to - from;
+
+        first.prev.next = last.next;
+        last.next.prev = first.prev;
+        other.count -= n;
+        other.modCount++;
+
+        DNode<T> pred = succ.prev;
+        pred.next = first;
+        first.prev = pred;
+        last.next = succ;
+        succ.prev = last;
+        count += n;
+        modCount++;
+    }
+
+    /**
+     * 把第index个位置开始的所有节点拆分成一个新链表，本链表只保留前index个节点
+     *
+     * @param index 拆分位置，可以等于元素个数（返回空链表）
+     * @return 包含原来 [index, size) 的新链表
+     */
+    public DoubleLink<T> split(int index) {
+        if (index < 0 || index > count)
+            throw new IndexOutOfBoundsException();
+        DoubleLink<T> tail = new DoubleLink<>();
+        tail.splice(0, this, index, count);
+        return tail;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ListItr(0);
+    }
+
+    public ListIterator<T> listIterator() {
+        return new ListItr(0);
+    }
+
+    /**
+     * 返回从第index个位置开始的迭代器，第一次调用 next 返回第index个元素
+     */
+    public ListIterator<T> listIterator(int index) {
+        if (index < 0 || index > count)
+            throw new IndexOutOfBoundsException();
+        return new ListItr(index);
+    }
+
+    /**
+     * 游标位于 next 节点之前，next 等于表头时表示已经到达末尾
+     */
+    private class ListItr implements ListIterator<T> {
+        private DNode<T> lastReturned;
+        private DNode<T> next;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            next = getPosition(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < count;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            lastReturned = next;
+            next = next.next;
+            nextIndex++;
+            return lastReturned.data;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            lastReturned = next = next.prev;
+            nextIndex--;
+            return lastReturned.data;
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        // 删除上一次 next 或 previous 返回的元素
+        @Override
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            DNode<T> lastNext = lastReturned.next;
+            unlink(lastReturned);
+            if (next == lastReturned)  // 上一次调用的是 previous
+                next = lastNext;
+            else
+                nextIndex--;
+            lastReturned = null;
+            expectedModCount++;
+        }
+
+        // 替换上一次 next 或 previous 返回的元素
+        @Override
+        public void set(T t) {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            lastReturned.data = t;
+        }
+
+        // 在游标处插入，之后的 next 不受影响，previous 返回新插入的元素
+        @Override
+        public void add(T t) {
+            checkForComodification();
+            lastReturned = null;
+            linkBefore(t, next);
+            nextIndex++;
+            expectedModCount++;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            while (modCount == expectedModCount && nextIndex < count) {
+                action.accept(next.data);
+                lastReturned = next;
+                next = next.next;
+                nextIndex++;
+            }
+            checkForComodification();
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 延迟绑定、快速失败的 Spliterator。
+     * 链表不能按下标对半拆分，trySplit 每次把前面一批元素复制到数组中交给新的 Spliterator，
+     * 批量从 BATCH_UNIT 开始逐次增大，与 java.util.LinkedList 的做法相同
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new DLSpliterator<>(this);
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    private static final class DLSpliterator<T> implements Spliterator<T> {
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+        private final DoubleLink<T> list;
+        private DNode<T> current;
+        private int est = -1;  // 第一次使用前为-1
+        private int expectedModCount;
+        private int batch;
+
+        DLSpliterator(DoubleLink<T> list) {
+            this.list = list;
+        }
+
+        // 第一次使用时才绑定到链表当前的状态
+        private int getEst() {
+            if (est < 0) {
+                expectedModCount = list.modCount;
+                current = list.head.next;
+                est = list.count;
+            }
+            return est;
+        }
+
+        @Override
+        public long estimateSize() {
+            return getEst();
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int s = getEst();
+            if (s <= 1)
+                return null;
+            int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), s);
+            Object[] a = new Object[n];
+            DNode<T> p = current;
+            int j = 0;
+            do {
+                a[j++] = p.data;
+                p = p.next;
+            } while (j < n && p != list.head);
+            current = p;
+            batch = j;
+            est = s - j;
+            return Spliterators.spliterator(a, 0, j, Spliterator.ORDERED);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null)
+                throw new NullPointerException();
+            if (getEst() > 0 && current != list.head) {
+                T data = current.data;
+                current = current.next;
+                est--;
+                action.accept(data);
+                if (list.modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int n = getEst();
+            DNode<T> p = current;
+            current = list.head;
+            est = 0;
+            for (; n > 0 && p != list.head; n--) {
+                T data = p.data;
+                p = p.next;
+                action.accept(data);
+            }
+            if (list.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
@@ -0,0 +1,120 @@
+package linear;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * int 类型的栈，直接用 int[] 保存元素，入栈、出栈都不会创建包装对象。
+ * <p>
+ * 数组满时容量翻倍（均摊O(1)）。pushAll/popN 批量入栈、出栈，各用一次 System.arraycopy 完成，
+ * 省去逐个调用的边界检查；popN 与 pushAll 互逆，元素顺序与 {@link Stack#popInto} 相同。
+ *
+ * @see Stack
+ */
+public class IntStack {
+
+    private static final int DEFAULT_SIZE = 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    private int[] mArray;
+    private int count;
+
+    public IntStack() {
+        this(DEFAULT_SIZE);
+    }
+
+    public IntStack(int size) {
+        if (size < 0 || size > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal size: " + size);
+        }
+        mArray = new int[Math.max(1, size)];
+        count = 0;
+    }
+
+    // 将val添加到栈中
+    public void push(int val) {
+        if (count == mArray.length) {
+            grow(count + 1);
+        }
+        mArray[count++] = val;
+    }
+
+    /**
+     * 把 values 按顺序依次入栈，最后一个元素成为栈顶
+     */
+    public void pushAll(int[] values) {
+        pushAll(values, 0, values.length);
+    }
+
+    /**
+     * 把 values[offset, offset + length) 按顺序依次入栈
+     */
+    public void pushAll(int[] values, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > values.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length > mArray.length - count) {
+            grow((long) count + length);
+        }
+        System.arraycopy(values, offset, mArray, count, length);
+        count += length;
+    }
+
+    // 返回“栈顶元素值”
+    public int peek() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        return mArray[count - 1];
+    }
+
+    // 返回“栈顶元素值”，并删除“栈顶元素”
+    public int pop() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        return mArray[--count];
+    }
+
+    /**
+     * 弹出栈顶的最多 n 个元素，按它们在栈中从底到顶的顺序写入 dst[offset, offset + 实际个数)，
+     * 即原栈顶在最后，与 {@link #pushAll(int[], int, int)} 互逆
+     *
+     * @return 实际弹出的元素个数
+     */
+    public int popN(int[] dst, int offset, int n) {
+        if (offset < 0 || n < 0 || offset > dst.length - n) {
+            throw new IndexOutOfBoundsException();
+        }
+        int popped = Math.min(n, count);
+        count -= popped;
+        System.arraycopy(mArray, count, dst, offset, popped);
+        return popped;
+    }
+
+    /**
+     * 容量翻倍直到不小于 required
+     */
+    private void grow(long required) {
+        if (required > MAX_CAPACITY) {
+            throw new IllegalStateException("Stack full");
+        }
+        long capacity = Math.max(required, Math.min(2L * mArray.length, MAX_CAPACITY));
+        mArray = Arrays.copyOf(mArray, (int) capacity);
+    }
+
+    // 清空栈，容量不变
+    public void clear() {
+        count = 0;
+    }
+
+    // 返回“栈”的大小
+    public int size() {
+        return count;
+    }
+
+    // 返回“栈”是否为空
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+}
@@ -0,0 +1,138 @@
+package linear;
+
+import java.util.NoSuchElementException;
+
+/**
+ * long 类型的队列，直接用 long[] 保存元素，入队、出队都不会创建包装对象。
+ * <p>
+ * 与 {@link Queue} 一样使用容量为2的幂的循环数组，数组满时容量翻倍（均摊O(1)）。
+ * addAll/popN 批量入队、出队，每次最多两次 System.arraycopy（队列在数组末尾折返时分两段）。
+ */
+public class LongQueue {
+
+    private static final int DEFAULT_SIZE = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private long[] array;
+    private int head;
+    private int count;
+
+    public LongQueue() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * @param size 初始容量，向上取整到2的幂
+     */
+    public LongQueue(int size) {
+        if (size < 0 || size > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal size: " + size);
+        }
+        array = new long[size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1];
+        head = 0;
+        count = 0;
+    }
+
+    // 将val添加到队列的末尾
+    public void add(long val) {
+        if (count == array.length) {
+            grow(count + 1);
+        }
+        array[(head + count) & (array.length - 1)] = val;
+        count++;
+    }
+
+    /**
+     * 把 values 按顺序依次入队
+     */
+    public void addAll(long[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * 把 values[offset, offset + length) 按顺序依次入队
+     */
+    public void addAll(long[] values, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > values.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (count + length > array.length) {
+            grow(count + length);
+        }
+        int tail = (head + count) & (array.length - 1);
+        int first = Math.min(length, array.length - tail);  // 队尾到数组末尾能放下的个数
+        System.arraycopy(values, offset, array, tail, first);
+        System.arraycopy(values, offset + first, array, 0, length - first);
+        count += length;
+    }
+
+    // 返回“队列开头元素”
+    public long front() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        return array[head];
+    }
+
+    // 返回并删除“队列开头元素”
+    public long pop() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        long ret = array[head];
+        head = (head + 1) & (array.length - 1);
+        count--;
+        return ret;
+    }
+
+    /**
+     * 最多出队 n 个元素，按出队顺序写入 dst[offset, offset + n)
+     *
+     * @return 实际出队的元素个数
+     */
+    public int popN(long[] dst, int offset, int n) {
+        if (offset < 0 || n < 0 || offset > dst.length - n) {
+            throw new IndexOutOfBoundsException();
+        }
+        int popped = Math.min(n, count);
+        int first = Math.min(popped, array.length - head);  // 队首到数组末尾的部分
+        System.arraycopy(array, head, dst, offset, first);
+        System.arraycopy(array, 0, dst, offset + first, popped - first);
+        head = (head + popped) & (array.length - 1);
+        count -= popped;
+        return popped;
+    }
+
+    /**
+     * 容量翻倍直到不小于 minCapacity，元素按队列顺序拷贝到新数组，队首移到下标0
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Queue full");
+        }
+        int capacity = array.length;
+        while (capacity < minCapacity) {
+            capacity <<= 1;
+        }
+        long[] newArray = new long[capacity];
+        int first = Math.min(count, array.length - head);
+        System.arraycopy(array, head, newArray, 0, first);
+        System.arraycopy(array, 0, newArray, first, count - first);
+        array = newArray;
+        head = 0;
+    }
+
+    // 清空队列，容量不变
+    public void clear() {
+        head = 0;
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+}
@@ -0,0 +1,198 @@
+package linear;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+
+/**
+ * 多生产者多消费者（MPMC, Multi-Producer-Multi-Consumer）的有界无锁队列，采用 Dmitry Vyukov 的算法。
+ * <p>
+ * 环形数组的每个槽位带一个序号 sequence，初始时槽位 i 的序号为 i：
+ * (01) 入队：读取入队位置 pos，槽位序号等于 pos 表示空闲，CAS 把入队位置加1抢到该槽位，
+ * 写入元素后把序号设为 pos + 1（release），通知消费者；序号小于 pos 表示队列已满；
+ * (02) 出队：读取出队位置 pos，槽位序号等于 pos + 1 表示有数据，CAS 把出队位置加1抢到该槽位，
+ * 取出元素后把序号设为 pos + 容量，留给下一圈的生产者；序号小于 pos + 1 表示队列为空；
+ * (03) 生产者之间、消费者之间只竞争各自的位置计数器，生产者与消费者之间只通过槽位序号同步；
+ * (04) 入队位置和出队位置用填充字段隔开，避免伪共享。
+ * <p>
+ * 接口与 {@link Queue} 一致：add/pop/front 在队列满或空时抛出异常，offer/poll/peek 返回 false 或 null。
+ */
+public class MpmcQueue<T> extends MpmcPad2 {
+
+    private static final VarHandle ENQUEUE;
+    private static final VarHandle DEQUEUE;
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ENQUEUE = lookup.findVarHandle(MpmcEnqueue.class, "enqueuePos", long.class);
+            DEQUEUE = lookup.findVarHandle(MpmcDequeue.class, "dequeuePos", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final T[] buffer;
+    private final long[] sequences;
+    private final int mask;
+
+    /**
+     * @param size 容量，向上取整到2的幂，至少为2
+     */
+    @SuppressWarnings("unchecked")
+    public MpmcQueue(int size) {
+        if (size < 1 || size > 1 << 30) {
+            throw new IllegalArgumentException("Illegal size: " + size);
+        }
+        int capacity = size <= 2 ? 2 : Integer.highestOneBit(size - 1) << 1;
+        buffer = (T[]) new Object[capacity];
+        sequences = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            sequences[i] = i;
+        }
+        mask = capacity - 1;
+    }
+
+    /**
+     * 入队
+     *
+     * @return 队列已满时返回 false
+     */
+    public boolean offer(T val) {
+        if (val == null) {
+            throw new NullPointerException();
+        }
+        long pos = (long) ENQUEUE.getVolatile(this);
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = (long) SEQUENCE.getAcquire(sequences, index) - pos;
+            if (diff == 0) {
+                if (ENQUEUE.compareAndSet(this, pos, pos + 1)) {
+                    buffer[index] = val;
+                    SEQUENCE.setRelease(sequences, index, pos + 1);
+                    return true;
+                }
+                pos = (long) ENQUEUE.getVolatile(this);
+            } else if (diff < 0) {  // 槽位还没被上一圈的消费者取走
+                return false;
+            } else {  // 其他生产者已经抢到该槽位
+                pos = (long) ENQUEUE.getVolatile(this);
+            }
+        }
+    }
+
+    /**
+     * 出队
+     *
+     * @return 队列为空时返回 null
+     */
+    public T poll() {
+        long pos = (long) DEQUEUE.getVolatile(this);
+        while (true) {
+            int index = (int) pos & mask;
+            long diff = (long) SEQUENCE.getAcquire(sequences, index) - (pos + 1);
+            if (diff == 0) {
+                if (DEQUEUE.compareAndSet(this, pos, pos + 1)) {
+                    T ret = buffer[index];
+                    buffer[index] = null;
+                    SEQUENCE.setRelease(sequences, index, pos + mask + 1);
+                    return ret;
+                }
+                pos = (long) DEQUEUE.getVolatile(this);
+            } else if (diff < 0) {  // 槽位还没有被写入
+                return null;
+            } else {  // 其他消费者已经取走该槽位
+                pos = (long) DEQUEUE.getVolatile(this);
+            }
+        }
+    }
+
+    /**
+     * 返回队首元素但不出队，其他消费者同时出队时返回的是调用期间某一时刻的队首
+     *
+     * @return 队列为空时返回 null
+     */
+    public T peek() {
+        while (true) {
+            long pos = (long) DEQUEUE.getVolatile(this);
+            int index = (int) pos & mask;
+            long diff = (long) SEQUENCE.getAcquire(sequences, index) - (pos + 1);
+            if (diff < 0) {
+                return null;
+            }
+            if (diff == 0) {
+                T ret = buffer[index];
+                // 消费者先推进出队位置再取走元素，位置没变说明读到的元素还在队首
+                if (ret != null && (long) DEQUEUE.getVolatile(this) == pos) {
+                    return ret;
+                }
+            }
+        }
+    }
+
+    // 将val添加到队列的末尾，队列已满时抛出 IllegalStateException
+    public void add(T val) {
+        if (!offer(val)) {
+            throw new IllegalStateException("Queue full");
+        }
+    }
+
+    // 返回“队列开头元素”
+    public T front() {
+        T ret = peek();
+        if (ret == null) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    // 返回并删除“队列开头元素”
+    public T pop() {
+        T ret = poll();
+        if (ret == null) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    /**
+     * 元素个数，其他线程同时入队、出队时只是一个近似值
+     */
+    public int size() {
+        long d = (long) DEQUEUE.getVolatile(this);
+        long e = (long) ENQUEUE.getVolatile(this);
+        return (int) Math.max(0, Math.min(e - d, mask + 1L));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
+
+/**
+ * 填充字段的作用见 {@link SpscPad0} 的说明
+ */
+abstract class MpmcPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class MpmcEnqueue extends MpmcPad0 {
+    long enqueuePos;
+}
+
+abstract class MpmcPad1 extends MpmcEnqueue {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpmcDequeue extends MpmcPad1 {
+    long dequeuePos;
+}
+
+abstract class MpmcPad2 extends MpmcDequeue {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
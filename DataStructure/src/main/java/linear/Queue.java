@@ -1,6 +1,7 @@
 package linear;
 
 import java.lang.reflect.Array;
+import java.util.NoSuchElementException;
 
 /**
  * 队列（Queue），是一种线性存储结构。它有以下几个特点：
@@ -10,42 +11,95 @@ import java.lang.reflect.Array;
  * <p>
  * 队列通常包括的两种操作：入队列 和 出队列。
  * <p>
+ * 这里用容量为2的幂的循环数组实现：head 指向队首，队尾是 (head + count) & (容量 - 1)，
+ * 入队、出队都是O(1)，不需要移动元素。数组满时容量翻倍（均摊O(1)）；
+ * 开启收缩时，元素个数降到容量的1/4以下就把容量减半，但不小于初始容量。
+ * <p>
  * JDK包Queue中的也提供了"队列"的实现。JDK中的Queue接口就是"队列"，它的实现类也都是队列
  */
 public class Queue<T> {
 
-    private static final int DEFAULT_SIZE = 10;
+    private static final int DEFAULT_SIZE = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
     private T[] array;
+    private int head;
     private int count;
+    private final int minCapacity;
+    private final boolean shrink;
 
     public Queue(Class<T> type) {
         this(type, DEFAULT_SIZE);
     }
 
     public Queue(Class<T> type, int size) {
+        this(type, size, false);
+    }
+
+    /**
+     * @param type   元素类型
+     * @param size   初始容量，向上取整到2的幂
+     * @param shrink 元素减少时是否收缩数组
+     */
+    public Queue(Class<T> type, int size, boolean shrink) {
+        if (size < 0 || size > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal size: " + size);
+        }
+        int capacity = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
         // 不能直接使用mArray = new T[DEFAULT_SIZE];
-        array = (T[]) Array.newInstance(type, size);
+        array = (T[]) Array.newInstance(type, capacity);
+        minCapacity = capacity;
+        this.shrink = shrink;
+        head = 0;
         count = 0;
     }
 
     // 将val添加到队列的末尾
     public void add(T val) {
-        array[count++] = val;
+        if (count == array.length) {
+            if (array.length == MAX_CAPACITY) {
+                throw new IllegalStateException("Queue full");
+            }
+            resize(array.length << 1);
+        }
+        array[(head + count) & (array.length - 1)] = val;
+        count++;
     }
 
     // 返回“队列开头元素”
     public T front() {
-        return array[0];
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        return array[head];
     }
 
+    // 返回并删除“队列开头元素”
     public T pop() {
-        T ret = array[0];
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        T ret = array[head];
+        array[head] = null;  // 释放引用，避免内存泄漏
+        head = (head + 1) & (array.length - 1);
         count--;
-        for (int i = 1; i <= count; i++)
-            array[i - 1] = array[i];
+        if (shrink && array.length > minCapacity && count <= array.length >>> 2) {
+            resize(array.length >>> 1);
+        }
         return ret;
     }
 
+    /**
+     * 把元素按队列顺序拷贝到新数组，队首移到下标0
+     */
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        T[] newArray = (T[]) Array.newInstance(array.getClass().getComponentType(), capacity);
+        int first = Math.min(count, array.length - head);  // 队首到数组末尾的部分
+        System.arraycopy(array, head, newArray, 0, first);
+        System.arraycopy(array, 0, newArray, first, count - first);
+        array = newArray;
+        head = 0;
+    }
 
     public int size() {
         return count;
@@ -55,5 +109,9 @@ public class Queue<T> {
         return size() == 0;
     }
 
+    // 返回当前数组容量
+    public int capacity() {
+        return array.length;
+    }
 
 }
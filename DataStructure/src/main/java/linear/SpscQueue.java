@@ -0,0 +1,187 @@
+package linear;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+
+/**
+ * 单生产者单消费者（SPSC, Single-Producer-Single-Consumer）的有界无等待队列。
+ * <p>
+ * 只允许一个线程入队、一个线程出队，两者可以同时进行，不需要加锁：
+ * (01) 环形数组容量为2的幂，tail 是下一个写入的序号，head 是下一个读取的序号，序号只增不减，下标为 序号 & (容量 - 1)；
+ * (02) tail 只由生产者写、head 只由消费者写，生产者写入元素后以 release 语义发布 tail，
+ * 消费者以 acquire 语义读取 tail 后就能看到元素，反之亦然；
+ * (03) 生产者缓存最近看到的 head，只有缓存显示队列已满时才重新读取 head，消费者同样缓存 tail，减少跨核读取；
+ * (04) head、tail 前后用填充字段隔开，分别独占缓存行，避免伪共享。
+ * <p>
+ * 每次入队、出队都在有限步内完成（wait-free）。
+ * 接口与 {@link Queue} 一致：add/pop/front 在队列满或空时抛出异常，offer/poll/peek 返回 false 或 null。
+ */
+public class SpscQueue<T> extends SpscPad2 {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscHead.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscTail.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final T[] buffer;
+    private final int mask;
+
+    /**
+     * @param size 容量，向上取整到2的幂
+     */
+    @SuppressWarnings("unchecked")
+    public SpscQueue(int size) {
+        if (size < 1 || size > 1 << 30) {
+            throw new IllegalArgumentException("Illegal size: " + size);
+        }
+        int capacity = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+        buffer = (T[]) new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * 入队，只能由生产者线程调用
+     *
+     * @return 队列已满时返回 false
+     */
+    public boolean offer(T val) {
+        if (val == null) {
+            throw new NullPointerException();
+        }
+        long t = tail;
+        if (t - headCache > mask) {
+            headCache = (long) HEAD.getAcquire(this);
+            if (t - headCache > mask) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = val;
+        TAIL.setRelease(this, t + 1);
+        return true;
+    }
+
+    /**
+     * 出队，只能由消费者线程调用
+     *
+     * @return 队列为空时返回 null
+     */
+    public T poll() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h >= tailCache) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        T ret = buffer[index];
+        buffer[index] = null;
+        HEAD.setRelease(this, h + 1);
+        return ret;
+    }
+
+    /**
+     * 返回队首元素但不出队，只能由消费者线程调用
+     *
+     * @return 队列为空时返回 null
+     */
+    public T peek() {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h >= tailCache) {
+                return null;
+            }
+        }
+        return buffer[(int) h & mask];
+    }
+
+    // 将val添加到队列的末尾，队列已满时抛出 IllegalStateException
+    public void add(T val) {
+        if (!offer(val)) {
+            throw new IllegalStateException("Queue full");
+        }
+    }
+
+    // 返回“队列开头元素”
+    public T front() {
+        T ret = peek();
+        if (ret == null) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    // 返回并删除“队列开头元素”
+    public T pop() {
+        T ret = poll();
+        if (ret == null) {
+            throw new NoSuchElementException();
+        }
+        return ret;
+    }
+
+    /**
+     * 元素个数，其他线程同时入队、出队时只是一个近似值
+     */
+    public int size() {
+        long h = (long) HEAD.getAcquire(this);
+        long t = (long) TAIL.getAcquire(this);
+        return (int) Math.max(0, Math.min(t - h, mask + 1L));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
+
+/**
+ * 以下几个类通过继承固定字段的布局：JVM 会重排同一个类中的字段，但父类字段总在子类字段之前，
+ * 每组热点字段前后各有 8 个 long（64字节）的填充，保证 tail、head 不在同一个缓存行
+ */
+abstract class SpscPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class SpscTail extends SpscPad0 {
+    /**
+     * 下一个写入的序号，只由生产者写
+     */
+    long tail;
+    /**
+     * 生产者看到的 head 缓存
+     */
+    long headCache;
+}
+
+abstract class SpscPad1 extends SpscTail {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class SpscHead extends SpscPad1 {
+    /**
+     * 下一个读取的序号，只由消费者写
+     */
+    long head;
+    /**
+     * 消费者看到的 tail 缓存
+     */
+    long tailCache;
+}
+
+abstract class SpscPad2 extends SpscHead {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
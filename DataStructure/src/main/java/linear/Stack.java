@@ -1,6 +1,8 @@
 package linear;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
 
 /**
  * 栈（stack），是一种线性存储结构，它有以下几个特点：
@@ -12,13 +14,19 @@ import java.lang.reflect.Array;
  * peek -- 返回栈顶元素。
  * pop  -- 返回并删除栈顶元素的操作。
  * <p>
+ * 数组满时容量翻倍（均摊O(1)）；元素个数降到容量的1/4以下时容量减半，但不小于初始容量。
+ * 扩容和收缩的阈值相差一倍，在容量边界附近反复 push/pop 不会来回复制数组。
+ * 出栈的位置会被置为 null，弹出的对象不会被栈继续引用。
+ * <p>
  * JDK包中也提供了"栈"的实现，它就是集合框架中的Stack类。
  */
 public class Stack<T> {
 
     private static final int DEFAULT_SIZE = 10;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
     private T[] mArray;
     private int count;
+    private final int minCapacity;
 
     public Stack(Class<T> type) {
         this(type, DEFAULT_SIZE);
@@ -26,27 +34,113 @@ public class Stack<T> {
 
     public Stack(Class<T> type, int size) {
         // 不能直接使用mArray = new T[DEFAULT_SIZE];
-        mArray = (T[]) Array.newInstance(type, size);
+        if (size < 0 || size > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Illegal size: " + size);
+        }
+        mArray = (T[]) Array.newInstance(type, Math.max(1, size));
+        minCapacity = mArray.length;
         count = 0;
     }
 
     // 将val添加到栈中
     public void push(T val) {
+        if (count == mArray.length) {
+            grow(count + 1);
+        }
         mArray[count++] = val;
     }
 
+    /**
+     * 把 values 按顺序依次入栈，最后一个元素成为栈顶
+     */
+    public void pushAll(T[] values) {
+        pushAll(values, 0, values.length);
+    }
+
+    /**
+     * 把 values[offset, offset + length) 按顺序依次入栈
+     */
+    public void pushAll(T[] values, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > values.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (length > mArray.length - count) {
+            grow((long) count + length);
+        }
+        System.arraycopy(values, offset, mArray, count, length);
+        count += length;
+    }
+
     // 返回“栈顶元素值”
     public T peek() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
         return mArray[count - 1];
     }
 
     // 返回“栈顶元素值”，并删除“栈顶元素”
     public T pop() {
-        T ret = mArray[count - 1];
-        count--;
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        T ret = mArray[--count];
+        mArray[count] = null;  // 释放引用，避免内存泄漏
+        shrink();
         return ret;
     }
 
+    /**
+     * 弹出最多 dst.length 个元素
+     *
+     * @see #popInto(Object[], int, int)
+     */
+    public int popInto(T[] dst) {
+        return popInto(dst, 0, dst.length);
+    }
+
+    /**
+     * 弹出栈顶的最多 n 个元素，按它们在栈中从底到顶的顺序写入 dst[offset, offset + 实际个数)，
+     * 即原栈顶在最后，与 {@link #pushAll(Object[], int, int)} 互逆
+     *
+     * @return 实际弹出的元素个数
+     */
+    public int popInto(T[] dst, int offset, int n) {
+        if (offset < 0 || n < 0 || offset > dst.length - n) {
+            throw new IndexOutOfBoundsException();
+        }
+        int popped = Math.min(n, count);
+        count -= popped;
+        System.arraycopy(mArray, count, dst, offset, popped);
+        Arrays.fill(mArray, count, count + popped, null);
+        shrink();
+        return popped;
+    }
+
+    /**
+     * 容量翻倍直到不小于 required
+     */
+    private void grow(long required) {
+        if (required > MAX_CAPACITY) {
+            throw new IllegalStateException("Stack full");
+        }
+        long capacity = Math.max(required, Math.min(2L * mArray.length, MAX_CAPACITY));
+        mArray = Arrays.copyOf(mArray, (int) capacity);
+    }
+
+    /**
+     * 元素个数不超过容量的1/4时把容量减半，直到不满足条件或到达初始容量
+     */
+    private void shrink() {
+        int capacity = mArray.length;
+        while (capacity > minCapacity && count <= capacity >>> 2) {
+            capacity >>>= 1;
+        }
+        if (capacity != mArray.length) {
+            mArray = Arrays.copyOf(mArray, Math.max(capacity, minCapacity));
+        }
+    }
+
     // 返回“栈”的大小
     public int size() {
         return count;
@@ -57,4 +151,9 @@ public class Stack<T> {
         return size() == 0;
     }
 
+    // 返回当前数组容量
+    public int capacity() {
+        return mArray.length;
+    }
+
 }
@@ -0,0 +1,381 @@
+package linear;
+
+import java.util.Arrays;
+
+/**
+ * 展开链表（Unrolled Linked List），接口与 {@link DoubleLink} 相同。
+ * <p>
+ * 元素按顺序存放在若干个定长数组块（chunk）中，每块最多 chunkCapacity 个元素（默认64），
+ * 相邻元素大多在同一块里，遍历和定位时访问的是连续内存，而不是每个元素一个节点的指针链。
+ * <p>
+ * (01) 块按位置顺序放在 chunks 数组的 [head, head + chunkCount) 区间，sizes 记录每块的元素个数，块不会为空，
+ * 区间两侧留有空槽位，在表头或表尾增加一块只占用一个空槽位，不移动其他块；空槽位用完时整体搬迁并扩容，均摊 O(1)；
+ * (02) 用树状数组（Fenwick tree）维护块大小的前缀和，按 chunks 的容量建树，空槽位的大小为0，
+ * 按下标定位时从高位到低位下降，O(log(N/chunkCapacity)) 找到所在的块和块内偏移；
+ * 块内插入、删除以及在表头表尾增删块都只改一个前缀和，O(log)，因此 insertFirst/appendLast 均摊 O(log(N/chunkCapacity))；
+ * (03) 中间插入时块已满就从中间拆成两块；在表头或表尾插入时块已满则直接新建一块，顺序追加的块都是满的；
+ * (04) 删除后块内元素不足1/4时，与相邻块合并（合并后不超过3/4），拆分和合并的阈值之间留有余量，
+ * 在边界附近反复插入删除不会来回拆并；只有在中间拆分、合并或删除块时才移动块并重建前缀和，O(N/chunkCapacity)。
+ * <p>
+ * 每个元素的额外开销约为一个数组槽位加上块头，远小于 DoubleLink 每个节点 prev/next/data 加对象头的开销。
+ */
+public class UnrolledLink<T> {
+
+    private static final int DEFAULT_CHUNK_CAPACITY = 64;
+    private static final int MIN_CHUNK_CAPACITY = 4;
+
+    private final int chunkCapacity;
+    private Object[][] chunks;
+    private int[] sizes;
+    private int[] tree;  // 树状数组，下标从1开始，tree[i] 是 sizes[i - lowbit(i), i) 之和
+    private int head;    // 第一块在 chunks 中的位置
+    private int chunkCount;
+    private int count;
+
+    public UnrolledLink() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     * @param chunkCapacity 每块最多存放的元素个数，至少为4
+     */
+    public UnrolledLink(int chunkCapacity) {
+        if (chunkCapacity < MIN_CHUNK_CAPACITY) {
+            throw new IllegalArgumentException("Illegal chunkCapacity: " + chunkCapacity);
+        }
+        this.chunkCapacity = chunkCapacity;
+        chunks = new Object[4][];
+        sizes = new int[4];
+        tree = new int[5];
+        head = 2;
+        chunkCount = 0;
+        count = 0;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public T get(int index) {
+        checkElementIndex(index);
+        long loc = locate(index);
+        return elementAt(chunk(loc), offset(loc));
+    }
+
+    // 获取第1个节点的值
+    public T getFirst() {
+        checkElementIndex(0);
+        return elementAt(head, 0);
+    }
+
+    // 获取最后一个节点的值
+    public T getLast() {
+        checkElementIndex(count - 1);
+        int last = head + chunkCount - 1;
+        return elementAt(last, sizes[last] - 1);
+    }
+
+    // 将节点插入到第index位置之前，index等于元素个数时追加到末尾
+    public void insert(int index, T t) {
+        if (index < 0 || index > count)
+            throw new IndexOutOfBoundsException();
+        if (index == 0) {
+            insertFirst(t);
+            return;
+        }
+        if (index == count) {
+            appendLast(t);
+            return;
+        }
+        long loc = locate(index);
+        int c = chunk(loc);
+        int offset = offset(loc);
+        if (sizes[c] == chunkCapacity) {
+            int half = chunkCapacity >>> 1;
+            c = split(c, half);
+            if (offset > half) {
+                c++;
+                offset -= half;
+            }
+        }
+        insertAt(c, offset, t);
+    }
+
+    // 将节点插入第一个节点处。
+    public void insertFirst(T t) {
+        if (chunkCount == 0 || sizes[head] == chunkCapacity) {
+            addFirstChunk(new Object[chunkCapacity]);
+        }
+        insertAt(head, 0, t);
+    }
+
+    // 将节点追加到链表的末尾
+    public void appendLast(T t) {
+        if (chunkCount == 0 || sizes[head + chunkCount - 1] == chunkCapacity) {
+            addLastChunk(new Object[chunkCapacity], 0);
+        }
+        int c = head + chunkCount - 1;
+        insertAt(c, sizes[c], t);
+    }
+
+    // 删除index位置的节点
+    public void del(int index) {
+        checkElementIndex(index);
+        long loc = locate(index);
+        int c = chunk(loc);
+        int offset = offset(loc);
+        Object[] items = chunks[c];
+        int size = --sizes[c];
+        System.arraycopy(items, offset + 1, items, offset, size - offset);
+        items[size] = null;  // 释放引用，避免内存泄漏
+        count--;
+        if (size == 0) {
+            add(c, -1);
+            removeChunk(c);
+        } else if (size < chunkCapacity >>> 2) {
+            int limit = chunkCapacity - (chunkCapacity >>> 2);
+            if (c + 1 < head + chunkCount && size + sizes[c + 1] <= limit) {
+                merge(c);
+            } else if (c > head && sizes[c - 1] + size <= limit) {
+                merge(c - 1);
+            } else {
+                add(c, -1);
+            }
+        } else {
+            add(c, -1);
+        }
+    }
+
+    // 删除第一个节点
+    public void deleteFirst() {
+        del(0);
+    }
+
+    // 删除最后一个节点
+    public void deleteLast() {
+        del(count - 1);
+    }
+
+    private void checkElementIndex(int index) {
+        if (index < 0 || index >= count)
+            throw new IndexOutOfBoundsException();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int c, int offset) {
+        return (T) chunks[c][offset];
+    }
+
+    /**
+     * 在第c块的offset位置插入，块内还有空位
+     */
+    private void insertAt(int c, int offset, T t) {
+        Object[] items = chunks[c];
+        System.arraycopy(items, offset, items, offset + 1, sizes[c] - offset);
+        items[offset] = t;
+        sizes[c]++;
+        count++;
+        add(c, 1);
+    }
+
+    /**
+     * 定位第index个元素，在树状数组上从高位到低位下降，找到前缀和不超过index的最后一块，
+     * head 之前的空槽位大小为0，落在它们上面的前缀和仍不超过index，结果总是 head 之后的非空块
+     *
+     * @return 块在 chunks 中的位置在高32位，块内偏移在低32位
+     */
+    private long locate(int index) {
+        int n = chunks.length;
+        int pos = 0;
+        int rest = index;
+        for (int step = Integer.highestOneBit(n); step > 0; step >>>= 1) {
+            int next = pos + step;
+            if (next <= n && tree[next] <= rest) {
+                pos = next;
+                rest -= tree[next];
+            }
+        }
+        return (long) pos << 32 | rest;
+    }
+
+    private static int chunk(long loc) {
+        return (int) (loc >>> 32);
+    }
+
+    private static int offset(long loc) {
+        return (int) loc;
+    }
+
+    /**
+     * 第c块的元素个数增加delta，更新前缀和
+     */
+    private void add(int c, int delta) {
+        for (int i = c + 1; i <= chunks.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * 把第c块从keep位置拆开，后半部分成为第c+1块；拆的是最后一块时只需在表尾增加一块，不重建前缀和
+     *
+     * @return 拆分后前半部分所在的位置，中间拆分时块可能被整体搬迁
+     */
+    private int split(int c, int keep) {
+        Object[] items = chunks[c];
+        Object[] next = new Object[chunkCapacity];
+        int moved = sizes[c] - keep;
+        System.arraycopy(items, keep, next, 0, moved);
+        Arrays.fill(items, keep, sizes[c], null);
+        sizes[c] = keep;
+        if (c == head + chunkCount - 1) {
+            add(c, -moved);
+            addLastChunk(next, moved);
+            return head + chunkCount - 2;
+        }
+        int i = c - head;
+        if (head + chunkCount == chunks.length) {
+            reserveBack();
+        }
+        c = head + i;
+        int end = head + chunkCount;
+        System.arraycopy(chunks, c + 1, chunks, c + 2, end - c - 1);
+        System.arraycopy(sizes, c + 1, sizes, c + 2, end - c - 1);
+        chunks[c + 1] = next;
+        sizes[c + 1] = moved;
+        chunkCount++;
+        rebuild();
+        return c;
+    }
+
+    /**
+     * 把第c+1块的元素追加到第c块，删除第c+1块
+     */
+    private void merge(int c) {
+        System.arraycopy(chunks[c + 1], 0, chunks[c], sizes[c], sizes[c + 1]);
+        sizes[c] += sizes[c + 1];
+        sizes[c + 1] = 0;
+        removeSlot(c + 1);
+        rebuild();
+    }
+
+    /**
+     * 在表头增加一个空块，大小为0，不影响前缀和
+     */
+    private void addFirstChunk(Object[] items) {
+        if (chunkCount == 0) {
+            addLastChunk(items, 0);
+            return;
+        }
+        if (head == 0) {
+            reserveFront();
+        }
+        head--;
+        chunks[head] = items;
+        chunkCount++;
+    }
+
+    /**
+     * 在表尾增加一块，O(log) 更新前缀和
+     */
+    private void addLastChunk(Object[] items, int size) {
+        if (head + chunkCount == chunks.length) {
+            reserveBack();
+        }
+        int c = head + chunkCount;
+        chunks[c] = items;
+        sizes[c] = size;
+        chunkCount++;
+        add(c, size);
+    }
+
+    /**
+     * 删除已经为空的第c块，前缀和中它的大小已经是0；删除首尾块只需释放槽位
+     */
+    private void removeChunk(int c) {
+        if (c == head) {
+            chunks[c] = null;
+            head++;
+            chunkCount--;
+        } else if (c == head + chunkCount - 1) {
+            chunks[c] = null;
+            chunkCount--;
+        } else {
+            removeSlot(c);
+            rebuild();
+        }
+    }
+
+    /**
+     * 把第c块之后的块前移一位，调用方负责重建前缀和
+     */
+    private void removeSlot(int c) {
+        int last = head + chunkCount - 1;
+        System.arraycopy(chunks, c + 1, chunks, c, last - c);
+        System.arraycopy(sizes, c + 1, sizes, c, last - c);
+        chunks[last] = null;
+        sizes[last] = 0;
+        chunkCount--;
+    }
+
+    /**
+     * 表头没有空槽位：空槽位超过一半时原地居中，否则容量翻倍并把新增的槽位都留给表头
+     */
+    private void reserveFront() {
+        int capacity = chunks.length;
+        if (chunkCount > capacity >>> 1) {
+            relocate(capacity << 1, head + capacity);
+        } else {
+            relocate(capacity, (capacity - chunkCount + 1) >>> 1);
+        }
+    }
+
+    /**
+     * 表尾没有空槽位：空槽位超过一半时原地居中，否则容量翻倍并把新增的槽位都留给表尾
+     */
+    private void reserveBack() {
+        int capacity = chunks.length;
+        if (chunkCount > capacity >>> 1) {
+            relocate(capacity << 1, head);
+        } else {
+            relocate(capacity, (capacity - chunkCount) >>> 1);
+        }
+    }
+
+    /**
+     * 把所有块搬到容量为capacity的新数组的newHead位置，重建前缀和，O(capacity)；
+     * 每次搬迁后两侧至少留出 capacity/4 个空槽位，均摊到每次增加块上是 O(1)
+     */
+    private void relocate(int capacity, int newHead) {
+        Object[][] newChunks = new Object[capacity][];
+        int[] newSizes = new int[capacity];
+        System.arraycopy(chunks, head, newChunks, newHead, chunkCount);
+        System.arraycopy(sizes, head, newSizes, newHead, chunkCount);
+        chunks = newChunks;
+        sizes = newSizes;
+        if (tree.length != capacity + 1) {
+            tree = new int[capacity + 1];
+        }
+        head = newHead;
+        rebuild();
+    }
+
+    /**
+     * O(容量) 重建树状数组：每个结点先放自己的块大小（空槽位为0），再累加到父结点
+     */
+    private void rebuild() {
+        int n = chunks.length;
+        for (int i = 1; i <= n; i++) {
+            tree[i] = sizes[i - 1];
+        }
+        for (int i = 1; i <= n; i++) {
+            int parent = i + (i & -i);
+            if (parent <= n) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
@@ -11,10 +11,10 @@ public class Consumer {
         Scanner scanner = new Scanner(System.in);
         while (scanner.hasNext()) {
             String line = scanner.nextLine();
-            ServerDemo serverDemo = (ServerDemo) context.getBean("demoService1");
+            ServerDemo serverDemo = (ServerDemo) context.getBean("cachedDemoService1");
             String hello = serverDemo.echo(line);
             System.out.println(hello);
-            ServerDemo serverDemo2 = (ServerDemo) context.getBean("demoService2");
+            ServerDemo serverDemo2 = (ServerDemo) context.getBean("cachedDemoService2");
             String hello2 = serverDemo2.echo(line);
             System.out.println(hello2);
         }
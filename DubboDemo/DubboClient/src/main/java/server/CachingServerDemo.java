@@ -0,0 +1,39 @@
+package server;
+
+import cache.Cache;
+import cache.CacheStats;
+import cache.EvictionPolicy;
+
+/**
+ * 在 ServerDemo 的远程调用前加一层本地缓存：相同参数的调用直接返回缓存的结果，不再发起 RPC。
+ * 只适用于结果只取决于参数的方法，echo 满足这个条件。
+ */
+public class CachingServerDemo implements ServerDemo {
+
+    private final ServerDemo delegate;
+    private final Cache<String, String> cache;
+
+    /**
+     * 按 LRU 最多缓存 maximumSize 个结果
+     */
+    public CachingServerDemo(ServerDemo delegate, int maximumSize) {
+        this(delegate, new Cache<>(EvictionPolicy.LRU, maximumSize));
+    }
+
+    public CachingServerDemo(ServerDemo delegate, Cache<String, String> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public String echo(String receiveString) {
+        if (receiveString == null) {  // 缓存不支持 null 键
+            return delegate.echo(null);
+        }
+        return cache.get(receiveString, delegate::echo);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}